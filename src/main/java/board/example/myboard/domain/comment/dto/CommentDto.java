@@ -0,0 +1,7 @@
+package board.example.myboard.domain.comment.dto;
+
+import java.time.LocalDateTime;
+
+public record CommentDto(Long id, Long parentId, String writerNickname, String content,
+                         boolean removed, LocalDateTime createdDate) {
+}
@@ -0,0 +1,5 @@
+package board.example.myboard.domain.comment.dto;
+
+//댓글 삭제 시 필요한 부모 댓글 id, 게시글 id//
+public record CommentLinkDto(Long parentId, Long postId) {
+}
@@ -0,0 +1,8 @@
+package board.example.myboard.domain.comment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//다음 페이지는 (nextCreatedDate, nextId) 이후부터 조회//
+public record CommentPageDto(List<CommentDto> comments, boolean hasNext, LocalDateTime nextCreatedDate, Long nextId) {
+}
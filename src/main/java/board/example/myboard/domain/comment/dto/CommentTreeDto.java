@@ -0,0 +1,13 @@
+package board.example.myboard.domain.comment.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//댓글 + 대댓글 트리 (불변)//
+public record CommentTreeDto(Long id, String writerNickname, String content, boolean removed,
+                             LocalDateTime createdDate, List<CommentTreeDto> children) {
+
+    public CommentTreeDto {
+        children = List.copyOf(children);
+    }
+}
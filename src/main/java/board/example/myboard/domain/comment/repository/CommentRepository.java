@@ -1,7 +1,99 @@
 package board.example.myboard.domain.comment.repository;
 
+import board.example.myboard.domain.comment.dto.CommentDto;
+import board.example.myboard.domain.comment.dto.CommentLinkDto;
 import board.example.myboard.domain.comment.service.Comment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+
+    //댓글 단건 조회: 작성자, 부모 댓글까지 한 번에//
+    @EntityGraph("Comment.withWriterAndParent")
+    Optional<Comment> findWithWriterAndParentById(Long id);
+
+    //게시글의 댓글 첫 페이지 (작성순)//
+    @Query("select new board.example.myboard.domain.comment.dto.CommentDto(" +
+            "c.id, pa.id, w.nickname, c.content, c.isRemoved, c.createdDate) " +
+            "from Comment c left join c.writer w left join c.parent pa " +
+            "where c.post.id = :postId " +
+            "order by c.createdDate asc, c.id asc")
+    List<CommentDto> findFirstByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    //게시글의 모든 댓글을 한 번에 (트리 조립용)//
+    @Query("select new board.example.myboard.domain.comment.dto.CommentDto(" +
+            "c.id, pa.id, w.nickname, c.content, c.isRemoved, c.createdDate) " +
+            "from Comment c left join c.writer w left join c.parent pa " +
+            "where c.post.id = :postId " +
+            "order by c.createdDate asc, c.id asc")
+    List<CommentDto> findAllByPostId(@Param("postId") Long postId);
+
+    //(createdDate, id) 커서 이후의 댓글//
+    @Query("select new board.example.myboard.domain.comment.dto.CommentDto(" +
+            "c.id, pa.id, w.nickname, c.content, c.isRemoved, c.createdDate) " +
+            "from Comment c left join c.writer w left join c.parent pa " +
+            "where c.post.id = :postId " +
+            "and (c.createdDate > :createdDate or (c.createdDate = :createdDate and c.id > :id)) " +
+            "order by c.createdDate asc, c.id asc")
+    List<CommentDto> findByPostIdAfter(@Param("postId") Long postId,
+                                       @Param("createdDate") LocalDateTime createdDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    //삭제 표시 (soft delete)//
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Comment c set c.isRemoved = true where c.id = :id")
+    int softDeleteById(@Param("id") Long id);
+
+    @Query("select new board.example.myboard.domain.comment.dto.CommentLinkDto(pa.id, po.id) " +
+            "from Comment c left join c.parent pa left join c.post po where c.id = :id")
+    Optional<CommentLinkDto> findLinkById(@Param("id") Long id);
+
+    //부모가 삭제 표시되어 있고 삭제되지 않은 대댓글이 없을 때만 대댓글 일괄 삭제//
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Comment c where c.parent.id = :parentId " +
+            "and exists (select r.id from Comment r where r.id = :parentId and r.isRemoved = true) " +
+            "and not exists (select ch.id from Comment ch where ch.parent.id = :parentId and ch.isRemoved = false)")
+    int deleteChildrenIfRemovable(@Param("parentId") Long parentId);
+
+    //위와 같은 조건일 때 부모 댓글 삭제//
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Comment c where c.id = :parentId and c.isRemoved = true " +
+            "and not exists (select ch.id from Comment ch where ch.parent.id = :parentId and ch.isRemoved = false)")
+    int deleteIfRemovable(@Param("parentId") Long parentId);
+
+    //회원 탈퇴: 회원이 댓글을 단 게시글 (댓글 수 재계산 대상)//
+    @Query("select distinct po.id from Comment c join c.post po where c.writer.id = :memberId")
+    List<Long> findCommentedPostIdsByWriterId(@Param("memberId") Long memberId);
+
+    //회원 탈퇴: 회원의 게시글에 달린 댓글, 회원이 쓴 댓글의 대댓글//
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.parent.id in (" +
+            "select p.id from Comment p where p.writer.id = :memberId " +
+            "or p.post.id in (select po.id from Post po where po.writer.id = :memberId))")
+    int deleteRepliesRelatedToMember(@Param("memberId") Long memberId);
+
+    //회원 탈퇴: 회원의 게시글에 달린 댓글 + 회원이 쓴 댓글//
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Comment c where c.writer.id = :memberId " +
+            "or c.post.id in (select po.id from Post po where po.writer.id = :memberId)")
+    int deleteAllRelatedToMember(@Param("memberId") Long memberId);
+
+    //게시글 삭제: 대댓글 먼저 (parent_id FK)//
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Comment c where c.parent.id in (select p.id from Comment p where p.post.id = :postId)")
+    int deleteRepliesByPostId(@Param("postId") Long postId);
+
+    //게시글 삭제: 남은 댓글//
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Comment c where c.post.id = :postId")
+    int deleteAllByPostId(@Param("postId") Long postId);
 }
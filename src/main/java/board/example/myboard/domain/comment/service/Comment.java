@@ -2,40 +2,49 @@ package board.example.myboard.domain.comment.service;
 
 import board.example.myboard.BaseTimeEntity;
 import board.example.myboard.domain.member.Member;
+import board.example.myboard.global.jpa.PooledSequenceGenerator;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 @Entity
-@Table(name= "COMMENT")
+@NamedEntityGraph(name = "Comment.withWriterAndParent",
+        attributeNodes = {@NamedAttributeNode("writer"), @NamedAttributeNode("parent")})
+@Table(name= "COMMENT", indexes = @Index(name = "idx_comment_post_created_date_id",
+        columnList = "post_id, created_date, id"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Comment extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final int MAX_CONTENT_LENGTH = 1000;
+
+    @Id @GeneratedValue(generator = "comment_seq")
+    @GenericGenerator(name = "comment_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "comment_seq"))
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "writer_id")
     private Member writer;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id")
     private Post post;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
     private Comment parent;
 
-    @Lob
-    @Column(nullable = false)
+    //댓글은 짧으므로 LOB 대신 행 안에 저장 (목록 조회 시 LOB 로딩 X)//
+    @Column(nullable = false, length = MAX_CONTENT_LENGTH)
     private String content;
 
     private boolean isRemoved = false;
@@ -64,6 +73,7 @@ public class Comment extends BaseTimeEntity {
 
     //수정//
     public void updateContent(String content){
+        checkContentLength(content);
         this.content = content;
     }
 
@@ -77,41 +87,14 @@ public class Comment extends BaseTimeEntity {
         this.writer =writer;
         this.post = post;
         this.parent = parent;
+        checkContentLength(content);
         this.content = content;
         this.isRemoved = false;
     }
 
-    //비즈니스 로직//
-    public List<Comment> findRemovableList(){
-        List<Comment> result = new ArrayList<>();
-
-        Optional.ofNullable(this.parent).ifPresentOrElse(
-
-                parentComment -> {
-                    if( parentComment.isRemoved()&& parentComment.isAllChildRemoved()){
-                        result.addAll(parentComment.getChildList());
-                        result.add(parentComment);
-                    }
-                },
-                ()-> {
-                    if(isAllChildRemoved()) {
-                        result.add(this);
-                        result.addAll(this.getChildList());
-                    }
-                }
-        );
-
-        return result;
-    }
-
-
-
-    private boolean isAllChildRemoved() {
-
-        return getChildList().stream()
-                .map(Comment::isRemoved)
-                .filter(isRemove -> !isRemove)
-                .findAny()
-                .orElse(true);
+    private static void checkContentLength(String content) {
+        if (content != null && content.length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("댓글은 " + MAX_CONTENT_LENGTH + "자를 넘을 수 없습니다.");
+        }
     }
 }
@@ -1,5 +1,9 @@
 package board.example.myboard.domain.comment.service;
 
+import board.example.myboard.domain.comment.dto.CommentPageDto;
+import board.example.myboard.domain.comment.dto.CommentTreeDto;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface CommentService {
@@ -7,8 +11,15 @@ public interface CommentService {
 
     Comment findById(Long id) throws Exception;
 
+    //테이블 전체를 엔티티로 읽는다 -> findPageByPost 사용//
+    @Deprecated
     List<Comment> findAll();
 
+    //lastCreatedDate, lastId 가 null 이면 첫 페이지//
+    CommentPageDto findPageByPost(Long postId, LocalDateTime lastCreatedDate, Long lastId, int size);
+
+    List<CommentTreeDto> findTreeByPost(Long postId);
+
     void remove(Long id) throws Exception;
 
 }
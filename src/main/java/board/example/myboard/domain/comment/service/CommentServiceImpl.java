@@ -1,11 +1,21 @@
 package board.example.myboard.domain.comment.service;
 
+import board.example.myboard.domain.comment.dto.CommentDto;
+import board.example.myboard.domain.comment.dto.CommentLinkDto;
+import board.example.myboard.domain.comment.dto.CommentPageDto;
+import board.example.myboard.domain.comment.dto.CommentTreeDto;
 import board.example.myboard.domain.comment.repository.CommentRepository;
+import board.example.myboard.domain.post.repository.PostCounterRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 
 @Service
@@ -13,33 +23,108 @@ import java.util.List;
 @Transactional
 public class CommentServiceImpl implements CommentService{
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
+    private final PostCounterRepository postCounterRepository;
 
     @Override
     public void save(Comment comment) {
 
         commentRepository.save(comment);
+
+        if(comment.getPost() != null) {
+            postCounterRepository.addCommentCount(comment.getPost().getId(), 1);
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public Comment findById(Long id) throws Exception {
-        return commentRepository.findById(id).orElseThrow(() -> new Exception("댓글이 없습니다."));
+        return commentRepository.findWithWriterAndParentById(id).orElseThrow(() -> new Exception("댓글이 없습니다."));
     }
 
     @Override
+    @Deprecated
     @Transactional(readOnly = true)
     public List<Comment> findAll() {
         return commentRepository.findAll();
     }
 
+    //한 건 더 읽어서 다음 페이지가 있는지 판단//
+    @Override
+    @Transactional(readOnly = true)
+    public CommentPageDto findPageByPost(Long postId, LocalDateTime lastCreatedDate, Long lastId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<CommentDto> comments = (lastCreatedDate == null || lastId == null)
+                ? commentRepository.findFirstByPostId(postId, limit)
+                : commentRepository.findByPostIdAfter(postId, lastCreatedDate, lastId, limit);
+
+        boolean hasNext = comments.size() > pageSize;
+        if (hasNext) {
+            comments = comments.subList(0, pageSize);
+        }
+
+        CommentDto last = comments.isEmpty() ? null : comments.get(comments.size() - 1);
+        return new CommentPageDto(comments, hasNext,
+                last == null ? null : last.createdDate(),
+                last == null ? null : last.id());
+    }
+
+    //댓글을 한 번의 쿼리로 모두 읽고, id -> 노드 맵으로 부모를 찾아 메모리에서 트리를 만든다 (childList 지연 로딩 X)//
+    @Override
+    @Transactional(readOnly = true)
+    public List<CommentTreeDto> findTreeByPost(Long postId) {
+        List<CommentDto> comments = commentRepository.findAllByPostId(postId);
+
+        Map<Long, List<CommentDto>> childrenByParentId = new HashMap<>();
+        List<CommentDto> roots = new ArrayList<>();
+
+        for (CommentDto comment : comments) {
+            if (comment.parentId() == null) {
+                roots.add(comment);
+            } else {
+                childrenByParentId.computeIfAbsent(comment.parentId(), parentId -> new ArrayList<>()).add(comment);
+            }
+        }
+
+        return roots.stream()
+                .map(root -> toTree(root, childrenByParentId))
+                .toList();
+    }
+
+    private CommentTreeDto toTree(CommentDto comment, Map<Long, List<CommentDto>> childrenByParentId) {
+        List<CommentTreeDto> children = childrenByParentId.getOrDefault(comment.id(), List.of()).stream()
+                .map(child -> toTree(child, childrenByParentId))
+                .toList();
+
+        return new CommentTreeDto(comment.id(), comment.writerNickname(), comment.content(),
+                comment.removed(), comment.createdDate(), children);
+    }
+
+    /*
+     * 댓글 삭제 (문장 수는 대댓글 수와 관계없이 일정)
+     * 1. 삭제 표시
+     * 2. 부모 댓글(없으면 자기 자신)이 삭제 표시되어 있고, 삭제되지 않은 대댓글이 없으면
+     *    대댓글과 부모 댓글을 DB 에서 일괄 삭제 - 조건은 SQL 에서 확인
+     * */
     @Override
     public void remove(Long id) throws Exception {
 
-        Comment comment = commentRepository.findById(id).orElseThrow(()-> new Exception("댓글이 없습니다."));
-        comment.remove();
-        List<Comment> removableCommentList = comment.findRemovableList();
-        removableCommentList.forEach(removableComment -> commentRepository.delete(removableComment));
+        if(commentRepository.softDeleteById(id) == 0) {
+            throw new Exception("댓글이 없습니다.");
+        }
+
+        CommentLinkDto link = commentRepository.findLinkById(id).orElseThrow(() -> new Exception("댓글이 없습니다."));
+        Long rootId = link.parentId() != null ? link.parentId() : id;
+
+        int deleted = commentRepository.deleteChildrenIfRemovable(rootId)
+                + commentRepository.deleteIfRemovable(rootId);
 
+        if(deleted > 0 && link.postId() != null) {
+            postCounterRepository.addCommentCount(link.postId(), -deleted);
+        }
     }
 }
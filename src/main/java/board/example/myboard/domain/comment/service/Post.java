@@ -3,9 +3,16 @@ package board.example.myboard.domain.comment.service;
 import board.example.myboard.BaseTimeEntity;
 import board.example.myboard.domain.comment.service.Comment;
 import board.example.myboard.domain.member.Member;
+import board.example.myboard.global.config.HibernateCacheConfig;
+import board.example.myboard.global.jpa.PooledSequenceGenerator;
 import lombok.AccessLevel;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -14,34 +21,69 @@ import java.util.List;
 import static javax.persistence.CascadeType.ALL;
 
 
-@Table(name="POST")
+//목록 keyset 페이징용 인덱스 (정렬 키 + 목록에 필요한 컬럼)//
+//2차 캐시: 본문(PostBody)과 댓글 목록은 캐시하지 않는다, 카운터는 PostCounterRepository 가 바꾸면서 캐시를 비운다//
+@Table(name="POST", indexes = @Index(name = "idx_post_created_date_id",
+        columnList = "created_date, post_id, title, writer_member_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.POST_REGION)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED )
 @Entity
 public class Post extends BaseTimeEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public static final int PREVIEW_LENGTH = 100;
+
+    @Id @GeneratedValue(generator = "post_seq")
+    @GenericGenerator(name = "post_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "post_seq"))
     @Column(name="post_id")
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "writer_member_id")
     private Member writer;
 
     @Column(length = 40, nullable = false)
     private String title;
 
-    @Lob
-    @Column(nullable = false)
-    private String content;
+    //본문은 POST_BODY 에 따로 두고 getContent() 를 호출할 때 읽는다//
+    @OneToOne(fetch = FetchType.LAZY, cascade = ALL, orphanRemoval = true, optional = false)
+    @JoinColumn(name = "body_id", nullable = false)
+    private PostBody body;
+
+    //목록용 본문 앞부분//
+    @Column(length = PREVIEW_LENGTH, nullable = false)
+    private String preview;
 
     @Column(nullable = false)
     private String filePath;
 
-    // 게시글을 삭제하면 달려있는 댓글 모두 삭제 //
-    @OneToMany(mappedBy = "post", cascade = ALL, orphanRemoval = true )
+    /*
+     * 카운터는 insert 때만 쓰고 엔티티 update 에는 넣지 않는다 (updatable = false)
+     * - 게시글을 읽은 뒤 다른 트랜잭션이 올린 값을 제목/본문 수정 flush 가 읽은 시점 값으로 덮어쓰지 않게
+     * - 변경은 PostCounterRepository 의 SQL 증감으로만
+     * */
+    //목록에서 댓글 수를 세지 않도록 저장해 둔다 (댓글 저장/삭제와 같은 트랜잭션에서 갱신)//
+    @Column(nullable = false, updatable = false)
+    private long commentCount;
+
+    //PostViewCountBuffer 가 모아서 주기적으로 반영//
+    @Column(nullable = false, updatable = false)
+    private long viewCount;
+
+    //게시글 삭제 시 댓글은 PostServiceImpl.delete 가 일괄 삭제 (cascade 로 한 건씩 지우지 않는다)//
+    @OneToMany(mappedBy = "post")
     private List<Comment> commentList = new ArrayList<>();
 
+    @Builder
+    public Post(Member writer, String title, String content, String filePath) {
+        this.writer = writer;
+        this.title = title;
+        this.body = new PostBody(content);
+        this.preview = previewOf(content);
+        this.filePath = filePath;
+    }
+
     //연관관계 편의 메서드//
     public void confirmWriter(Member writer) {
         this.writer = writer;
@@ -52,6 +94,11 @@ public class Post extends BaseTimeEntity {
        commentList.add(comment);
     }
 
+    //일괄 등록처럼 댓글 수를 직접 맞춰야 할 때 (persist 전에만 반영된다)//
+    public void addCommentCount(long delta) {
+        this.commentCount += delta;
+    }
+
 
     //내용 수정 //
     public void updateTitle(String title) {
@@ -59,7 +106,29 @@ public class Post extends BaseTimeEntity {
     }
 
     public void updateContent(String content) {
-        this.content = content;
+        this.body.updateContent(content);
+        this.preview = previewOf(content);
+    }
+
+    public String getContent() {
+        return body.getContent();
+    }
+
+    //공백을 하나로 줄이고 PREVIEW_LENGTH 자까지//
+    private static String previewOf(String content) {
+        if (content == null) {
+            return "";
+        }
+        String collapsed = content.strip().replaceAll("\\s+", " ");
+        if (collapsed.length() <= PREVIEW_LENGTH) {
+            return collapsed;
+        }
+        int end = PREVIEW_LENGTH;
+        //서로게이트 쌍이 잘리지 않게//
+        if (Character.isHighSurrogate(collapsed.charAt(end - 1))) {
+            end--;
+        }
+        return collapsed.substring(0, end);
     }
 
     public void updateFilePath(String filePath) {
@@ -0,0 +1,41 @@
+package board.example.myboard.domain.comment.service;
+
+import board.example.myboard.BaseTimeEntity;
+import board.example.myboard.global.jpa.CompressedTextConverter;
+import board.example.myboard.global.jpa.PooledSequenceGenerator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
+import javax.persistence.*;
+
+//게시글 본문 (Post 와 분리해서 필요할 때만 읽는다)//
+//본문만 바뀌면 Post 는 dirty 가 아니므로 수정 시각은 본문에 따로 남긴다 (검색 색인 catch-up)//
+@Table(name = "POST_BODY")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class PostBody extends BaseTimeEntity {
+
+    @Id @GeneratedValue(generator = "post_body_seq")
+    @GenericGenerator(name = "post_body_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "post_body_seq"))
+    @Column(name = "post_body_id")
+    private Long id;
+
+    //일정 크기 이상이면 압축해서 BLOB 으로 저장 (TextCompression)//
+    @Lob
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(nullable = false)
+    private String content;
+
+    PostBody(String content) {
+        this.content = content;
+    }
+
+    void updateContent(String content) {
+        this.content = content;
+    }
+}
@@ -3,17 +3,28 @@ package board.example.myboard.domain.member;
 import board.example.myboard.BaseTimeEntity;
 import board.example.myboard.domain.comment.service.Comment;
 import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.global.config.HibernateCacheConfig;
+import board.example.myboard.global.jpa.PooledSequenceGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import org.hibernate.annotations.Parameter;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
+//2차 캐시: id 로도 username(자연키) 으로도 DB 를 거치지 않고 조회 (수정은 같은 트랜잭션에서 캐시에 반영)//
 @Table(name="MEMBER")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.MEMBER_REGION)
+@NaturalIdCache(region = HibernateCacheConfig.MEMBER_NATURAL_ID_REGION)
 @Getter
 @NoArgsConstructor
 @Entity
@@ -22,10 +33,13 @@ import java.util.List;
 public class Member extends BaseTimeEntity {
 
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @GeneratedValue(generator = "member_seq")
+    @GenericGenerator(name = "member_seq", strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = "sequence_name", value = "member_seq"))
     @Column(name = "member_id")
     private Long id; //primary key
 
+    @NaturalId
     @Column(nullable = false, length = 30, unique = true)
     private String username;
 
@@ -43,8 +57,13 @@ public class Member extends BaseTimeEntity {
     @Enumerated(EnumType.STRING)
     private Role role;
 
-    @Column(length=1000)
-    private String refreshToken;
+    //권한, 비밀번호가 바뀌면 증가 -> 이전 버전으로 발급된 AccessToken 거부//
+    @Column(nullable = false)
+    private int tokenVersion;
+
+    //비동기 탈퇴 처리 중 (데이터 삭제 전까지 로그인/인증 불가)//
+    @Column(nullable = false)
+    private boolean withdrawn;
 
     //회원탈퇴 -> 작성한 게시물, 댓글 모두 삭제//
     @OneToMany(mappedBy = "writer",cascade = CascadeType.ALL, orphanRemoval = true)
@@ -63,19 +82,16 @@ public class Member extends BaseTimeEntity {
     }
 
 
-    public void updateRefreshToken(String refreshToken){
-        this.refreshToken = refreshToken;
-    }
-
-    public void destroyRefreshToken(){
-        this.refreshToken = null;
-    }
-
     //정보 수정//
     public void updatePassword(PasswordEncoder passwordEncoder, String password){
         this.password = passwordEncoder.encode(password);
     }
 
+    //이미 암호화된 비밀번호로 교체 (로그인 시 strength 업그레이드)//
+    public void upgradePassword(String encodedPassword){
+        this.password = encodedPassword;
+    }
+
     public void updateName(String name){
         this.name = name;
     }
@@ -94,6 +110,20 @@ public class Member extends BaseTimeEntity {
         this.role = Role.USER;
     }
 
+    public void updateRole(Role role){
+        this.role = role;
+        increaseTokenVersion();
+    }
+
+    public void increaseTokenVersion(){
+        this.tokenVersion++;
+    }
+
+    public void markWithdrawn(){
+        this.withdrawn = true;
+        increaseTokenVersion();
+    }
+
     public void updateAge(int age){
         this.age = age;
     }
@@ -0,0 +1,12 @@
+package board.example.myboard.domain.member.dto;
+
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+
+//인증에 필요한 최소 정보만 담은 불변 스냅샷//
+public record MemberPrincipal(Long id, String username, Role role, int tokenVersion) {
+
+    public static MemberPrincipal from(Member member) {
+        return new MemberPrincipal(member.getId(), member.getUsername(), member.getRole(), member.getTokenVersion());
+    }
+}
@@ -0,0 +1,5 @@
+package board.example.myboard.domain.member.event;
+
+//비동기 탈퇴: 탈퇴 표시가 커밋된 뒤 데이터 정리를 시작한다//
+public record MemberWithdrawnEvent(Long memberId) {
+}
@@ -0,0 +1,122 @@
+package board.example.myboard.domain.post.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/*
+ * 첨부파일 저장소 (내용 주소 방식)
+ * - 파일 이름은 내용의 SHA-256 이라 같은 파일은 한 번만 저장된다 (<dir>/ab/cd/abcd...)
+ * - 업로드는 스트림을 임시 파일로 복사하면서 hash 를 계산하고, 다 쓴 뒤 이름을 바꾼다
+ *   -> 파일 전체를 heap 에 올리지 않고, 반쯤 쓰인 파일이 hash 이름으로 보이지 않는다
+ * - 한 번 저장된 파일은 바뀌지 않는다 (같은 hash = 같은 내용)
+ * */
+@Slf4j
+@Component
+public class AttachmentStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final String TEMP_DIR = "tmp";
+
+    private final Path directory;
+
+    public AttachmentStore(@Value("${post.attachment.dir:data/attachments}") String directory) {
+        this.directory = Path.of(directory).toAbsolutePath();
+        try {
+            Files.createDirectories(this.directory.resolve(TEMP_DIR));
+        } catch (IOException e) {
+            throw new UncheckedIOException("첨부파일 저장소를 만들 수 없습니다. dir: " + directory, e);
+        }
+    }
+
+    public StoredAttachment store(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(directory.resolve(TEMP_DIR), "upload", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Path target = pathOf(hash);
+            if (Files.exists(target)) {
+                Files.delete(temp);
+                log.debug("이미 저장된 첨부파일입니다. hash: {}", hash);
+            } else {
+                Files.createDirectories(target.getParent());
+                //같은 내용을 동시에 올려도 내용이 같으므로 어느 쪽이 남아도 된다//
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new StoredAttachment(hash, size, target);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    //예전 filePath 값처럼 hash 형식이 아닌 값을 걸러낸다//
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    //hash 형식이 아니거나 (예전 filePath 값) 파일이 없으면 empty//
+    public Optional<StoredAttachment> find(String hash) {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash);
+        try {
+            return Optional.of(new StoredAttachment(hash, Files.size(path), path));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * [position, position + count) 구간을 target 으로 복사
+     * FileChannel.transferTo 를 쓰므로 target 이 소켓이면 커널에서 바로 보내고 (sendfile),
+     * 아니어도 heap 에는 복사 버퍼만큼만 올라간다
+     * */
+    public static long transferTo(Path file, long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < count) {
+                long n = channel.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0) {
+                    break;
+                }
+                transferred += n;
+            }
+            return transferred;
+        }
+    }
+
+    private Path pathOf(String hash) {
+        return directory.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package board.example.myboard.domain.post.attachment;
+
+import java.nio.file.Path;
+
+//hash: 내용의 SHA-256 (hex), Post.filePath 에 저장되는 값//
+public record StoredAttachment(String hash, long size, Path path) {
+}
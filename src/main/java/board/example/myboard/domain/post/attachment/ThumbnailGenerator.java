@@ -0,0 +1,296 @@
+package board.example.myboard.domain.post.attachment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/*
+ * 이미지 첨부파일의 썸네일 생성
+ * - 업로드할 때 한 번, 요청 스레드가 아닌 전용 풀(크기/대기 큐 제한)에서 만든다
+ *   큐가 가득 차면 재시도 목록에 두고 retryRejected 가 큐에 자리가 날 때 다시 넣는다
+ *   (그동안 목록에는 썸네일 없이 나가고 원본은 보내지 않는다)
+ * - 원본 hash 로 <dir>/<hash>_<width>.jpg 에 저장 -> 같은 이미지는 한 번만 만든다
+ *   목록용 썸네일이 있는 hash 는 메모리에 들고 있어 목록 조회가 파일 시스템을 보지 않는다
+ * - 썸네일은 width x width 안에 들어가도록 비율을 유지해서 줄인다 (세로로 긴 이미지 포함)
+ * - 큰 이미지는 가로/세로 모두 기준으로 subsampling 해서 읽어 원본 크기만큼 heap 을 쓰지 않는다
+ *   선언된 픽셀 수가 max-pixels 를 넘으면 읽지 않는다
+ * - 이미지가 아니면 아무것도 만들지 않는다
+ * */
+@Slf4j
+@Component
+public class ThumbnailGenerator implements DisposableBean {
+
+    private static final String FORMAT = "jpg";
+
+    //큐가 가득 차서 밀린 작업을 이 개수까지만 기억한다//
+    private static final int MAX_RETRY = 10_000;
+
+    private final Path directory;
+    private final int[] widths;
+    private final long maxPixels;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> generated = ConcurrentHashMap.newKeySet();
+    private final Map<String, StoredAttachment> retry = new ConcurrentHashMap<>();
+
+    private final LongAdder generatedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public ThumbnailGenerator(@Value("${post.attachment.thumbnail.dir:data/thumbnails}") String directory,
+                              @Value("${post.attachment.thumbnail.widths:200,640}") int[] widths,
+                              @Value("${post.attachment.thumbnail.threads:2}") int threads,
+                              @Value("${post.attachment.thumbnail.queue-capacity:100}") int queueCapacity,
+                              @Value("${post.attachment.thumbnail.max-pixels:50000000}") long maxPixels) {
+        this.directory = Path.of(directory).toAbsolutePath();
+        this.widths = Arrays.stream(widths).filter(width -> width > 0).sorted().distinct().toArray();
+        if (this.widths.length == 0) {
+            throw new IllegalArgumentException("썸네일 크기가 없습니다.");
+        }
+        this.maxPixels = maxPixels;
+
+        try {
+            Files.createDirectories(this.directory);
+            loadGenerated();
+        } catch (IOException e) {
+            throw new UncheckedIOException("썸네일 저장소를 만들 수 없습니다. dir: " + directory, e);
+        }
+
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new ThumbnailThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    //목록에 쓰는 가장 작은 크기//
+    public int listWidth() {
+        return widths[0];
+    }
+
+    public boolean supports(int width) {
+        return Arrays.binarySearch(widths, width) >= 0;
+    }
+
+    //이미 만들었거나 만드는 중이면 무시, 큐가 가득 차면 재시도 목록에 둔다//
+    public void generateAsync(StoredAttachment attachment) {
+        if (submit(attachment)) {
+            return;
+        }
+        rejectedCount.increment();
+        if (retry.size() < MAX_RETRY) {
+            retry.putIfAbsent(attachment.hash(), attachment);
+        }
+        log.info("썸네일 대기 큐가 가득 차서 나중에 다시 만듭니다. hash: {}", attachment.hash());
+    }
+
+    //큐에 자리가 있는 만큼만 다시 넣는다//
+    @Scheduled(fixedDelayString = "${post.attachment.thumbnail.retry-interval-ms:5000}")
+    public void retryRejected() {
+        for (StoredAttachment attachment : retry.values()) {
+            if (executor.getQueue().remainingCapacity() == 0) {
+                return;
+            }
+            retry.remove(attachment.hash());
+            if (!submit(attachment)) {
+                retry.putIfAbsent(attachment.hash(), attachment);
+                return;
+            }
+        }
+    }
+
+    //바로 만든다 (이미지가 아니거나 너무 크면 false)//
+    public boolean generate(StoredAttachment attachment) throws IOException {
+        BufferedImage source = readScaledDown(attachment.path(), widths[widths.length - 1], maxPixels);
+        if (source == null) {
+            return false;
+        }
+
+        //큰 것부터 만들어 없는 것만 쓴다 (가장 작은 것은 마지막 -> isGenerated 기준)//
+        for (int i = widths.length - 1; i >= 0; i--) {
+            Path target = pathOf(attachment.hash(), widths[i]);
+            if (!Files.exists(target)) {
+                write(resize(source, widths[i]), target);
+            }
+        }
+        generated.add(attachment.hash());
+        generatedCount.increment();
+        return true;
+    }
+
+    public Optional<Path> find(String hash, int width) {
+        if (!AttachmentStore.isHash(hash) || !supports(width)) {
+            return Optional.empty();
+        }
+        Path path = pathOf(hash, width);
+        return Files.exists(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    //목록에서 쓸 썸네일이 있는지 (hash 형식은 호출하는 쪽에서 확인, 파일 시스템을 보지 않는다)//
+    public boolean isGenerated(String hash) {
+        return generated.contains(hash);
+    }
+
+    public long generatedCount() {
+        return generatedCount.sum();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int retryCount() {
+        return retry.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    //이미 만들었거나 만드는 중이면 true, 큐가 가득 차면 false//
+    private boolean submit(StoredAttachment attachment) {
+        if (isGenerated(attachment.hash()) || !inFlight.add(attachment.hash())) {
+            return true;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(attachment);
+                } catch (IOException | RuntimeException e) {
+                    log.warn("썸네일을 만들지 못했습니다. hash: {}", attachment.hash(), e);
+                } finally {
+                    inFlight.remove(attachment.hash());
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(attachment.hash());
+            return false;
+        }
+    }
+
+    //시작할 때 이미 만들어 둔 목록용 썸네일을 읽어 둔다 (가장 작은 크기를 마지막에 쓰므로 그것만 본다)//
+    private void loadGenerated() throws IOException {
+        String suffix = "_" + listWidth() + "." + FORMAT;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(suffix))
+                    .map(name -> name.substring(0, name.length() - suffix.length()))
+                    .filter(AttachmentStore::isHash)
+                    .forEach(generated::add);
+        }
+    }
+
+    private Path pathOf(String hash, int width) {
+        return directory.resolve(hash + "_" + width + "." + FORMAT);
+    }
+
+    /*
+     * 긴 변이 maxSize 의 2배 이하가 되도록 픽셀을 건너뛰며 읽는다
+     * ImageIO 가 읽을 수 없는 형식이거나 픽셀 수가 maxPixels 를 넘으면 null
+     * */
+    private static BufferedImage readScaledDown(Path file, int maxSize, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxPixels) {
+                    log.info("이미지가 너무 커서 썸네일을 만들지 않습니다. file: {}, size: {}x{}",
+                            file.getFileName(), sourceWidth, sourceHeight);
+                    return null;
+                }
+                int subsampling = Math.max(1, Math.max(sourceWidth, sourceHeight) / (maxSize * 2));
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    //maxSize x maxSize 안에 들어가게, 원본보다 크게 늘리지 않고 비율 유지, 투명 배경은 흰색으로 (jpg)//
+    private static BufferedImage resize(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage resized = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = resized.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return resized;
+    }
+
+    private static void write(BufferedImage image, Path target) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            if (!ImageIO.write(image, FORMAT, temp.toFile())) {
+                throw new IOException("썸네일 형식을 쓸 수 없습니다. format: " + FORMAT);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    private static class ThumbnailThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "thumbnail-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package board.example.myboard.domain.post.controller;
+
+import board.example.myboard.domain.post.attachment.AttachmentStore;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import board.example.myboard.domain.post.attachment.ThumbnailGenerator;
+import board.example.myboard.domain.post.service.PostService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * 게시글 첨부파일 업로드/다운로드
+ * - 업로드: multipart 파일을 스트림으로 저장소에 복사 (AttachmentStore)
+ * - 다운로드: 파일을 heap 으로 읽지 않는다
+ *   Tomcat 이 sendfile 을 지원하면 파일 경로만 넘겨 커널이 보내고, 아니면 FileChannel.transferTo
+ * - Range 요청(한 구간)은 206, 여러 구간은 전체를 보낸다
+ * - 내용이 hash 로 식별되므로 ETag = hash
+ *   /post/{id}/attachment 는 첨부가 바뀔 수 있어 매번 재검증, /attachment/{hash} 는 바뀌지 않으므로 오래 캐시
+ * - 썸네일은 업로드할 때 만들어 둔 것만 보낸다 (요청 중에 만들지 않는다)
+ * */
+@RestController
+@RequiredArgsConstructor
+public class PostAttachmentController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String REVALIDATE = "private, no-cache";
+    private static final String IMMUTABLE = "private, max-age=31536000, immutable";
+
+    private final PostService postService;
+    private final AttachmentStore attachmentStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+
+    @PostMapping("/post/{postId}/attachment")
+    public String upload(@PathVariable Long postId, @RequestParam("file") MultipartFile file) throws Exception {
+        try (InputStream in = file.getInputStream()) {
+            return postService.attachFile(postId, in).hash();
+        }
+    }
+
+    @GetMapping("/post/{postId}/attachment")
+    public void download(@PathVariable Long postId, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        sendAttachment(postService.findAttachment(postId), REVALIDATE, request, response);
+    }
+
+    @GetMapping("/attachment/{hash}")
+    public void downloadByHash(@PathVariable String hash, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        sendAttachment(attachmentStore.find(hash), IMMUTABLE, request, response);
+    }
+
+    @GetMapping("/attachment/{hash}/thumbnail/{width}")
+    public void thumbnail(@PathVariable String hash, @PathVariable int width, HttpServletRequest request,
+                          HttpServletResponse response) throws IOException {
+        Optional<Path> thumbnail = thumbnailGenerator.find(hash, width);
+        if (thumbnail.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        send(thumbnail.get(), Files.size(thumbnail.get()), "\"" + hash + "_" + width + "\"",
+                MediaType.IMAGE_JPEG_VALUE, null, IMMUTABLE, request, response);
+    }
+
+    private void sendAttachment(Optional<StoredAttachment> found, String cacheControl,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (found.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        StoredAttachment attachment = found.get();
+        send(attachment.path(), attachment.size(), "\"" + attachment.hash() + "\"",
+                MediaType.APPLICATION_OCTET_STREAM_VALUE, "attachment; filename=\"" + attachment.hash() + "\"",
+                cacheControl, request, response);
+    }
+
+    private void send(Path file, long size, String etag, String contentType, String contentDisposition,
+                      String cacheControl, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long start = 0;
+        long end = size;
+
+        //If-Range 가 다른 버전이면 Range 를 무시하고 전체를 보낸다//
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                if (size == 0 || requested.getRangeStart(size) >= size) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                    return;
+                }
+                start = requested.getRangeStart(size);
+                end = requested.getRangeEnd(size) + 1;
+
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+            }
+        }
+
+        response.setContentType(contentType);
+        if (contentDisposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+        }
+        response.setContentLengthLong(end - start);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+            return;
+        }
+        AttachmentStore.transferTo(file, start, end - start, Channels.newChannel(response.getOutputStream()));
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
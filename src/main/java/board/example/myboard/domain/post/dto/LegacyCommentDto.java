@@ -0,0 +1,7 @@
+package board.example.myboard.domain.post.dto;
+
+import java.util.List;
+
+//이전 게시판에서 옮겨 올 댓글과 그 대댓글//
+public record LegacyCommentDto(Long writerId, String content, List<LegacyCommentDto> replies) {
+}
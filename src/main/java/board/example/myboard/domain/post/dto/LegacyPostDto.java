@@ -0,0 +1,8 @@
+package board.example.myboard.domain.post.dto;
+
+import java.util.List;
+
+//이전 게시판에서 옮겨 올 게시글 (writerId 가 null 이면 작성자 없음)//
+public record LegacyPostDto(Long writerId, String title, String content, String filePath,
+                            List<LegacyCommentDto> comments) {
+}
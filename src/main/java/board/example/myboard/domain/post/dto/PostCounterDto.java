@@ -0,0 +1,5 @@
+package board.example.myboard.domain.post.dto;
+
+//목록에 붙이는 카운터 (자주 바뀌므로 목록 쿼리 캐시와 따로 읽는다)//
+public record PostCounterDto(Long id, Long commentCount, Long viewCount) {
+}
@@ -0,0 +1,5 @@
+package board.example.myboard.domain.post.dto;
+
+//검색 색인에 필요한 게시글 정보//
+public record PostDocumentDto(Long id, String title, String content) {
+}
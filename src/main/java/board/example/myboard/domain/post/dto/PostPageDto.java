@@ -0,0 +1,8 @@
+package board.example.myboard.domain.post.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//다음 페이지는 (nextCreatedDate, nextId) 이후부터 조회//
+public record PostPageDto(List<PostSummaryDto> posts, boolean hasNext, LocalDateTime nextCreatedDate, Long nextId) {
+}
@@ -0,0 +1,4 @@
+package board.example.myboard.domain.post.dto;
+
+public record PostSearchHitDto(Long id, String title, float score) {
+}
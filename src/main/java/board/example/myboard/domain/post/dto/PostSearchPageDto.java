@@ -0,0 +1,7 @@
+package board.example.myboard.domain.post.dto;
+
+import java.util.List;
+
+//total: 검색어를 모두 포함하는 게시글 수//
+public record PostSearchPageDto(List<PostSearchHitDto> hits, int total, int page, int size) {
+}
@@ -0,0 +1,25 @@
+package board.example.myboard.domain.post.dto;
+
+import java.time.LocalDateTime;
+
+/*
+ * 목록용 요약 정보 (본문은 읽지 않고 preview 만)
+ * thumbnailUrl: 조회 쿼리는 filePath 를 담고, 서비스에서 만들어 둔 썸네일 주소로 바꾼다 (없으면 null)
+ * commentCount, viewCount: 조회 쿼리(쿼리 캐시)에는 담지 않고, 서비스에서 PostCounterDto 로 채운다
+ * */
+public record PostSummaryDto(Long id, String title, String preview, String writerNickname, LocalDateTime createdDate,
+                             Long commentCount, Long viewCount, String thumbnailUrl) {
+
+    public PostSummaryDto(Long id, String title, String preview, String writerNickname, LocalDateTime createdDate,
+                          String filePath) {
+        this(id, title, preview, writerNickname, createdDate, null, null, filePath);
+    }
+
+    public PostSummaryDto withThumbnailUrl(String thumbnailUrl) {
+        return new PostSummaryDto(id, title, preview, writerNickname, createdDate, commentCount, viewCount, thumbnailUrl);
+    }
+
+    public PostSummaryDto withCounts(Long commentCount, Long viewCount) {
+        return new PostSummaryDto(id, title, preview, writerNickname, createdDate, commentCount, viewCount, thumbnailUrl);
+    }
+}
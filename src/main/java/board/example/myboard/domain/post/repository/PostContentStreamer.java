@@ -0,0 +1,46 @@
+package board.example.myboard.domain.post.repository;
+
+import board.example.myboard.global.jpa.TextCompression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * 게시글 본문을 String 으로 만들지 않고 BLOB 스트림에서 바로 Writer 로 복사
+ * 압축된 본문은 읽으면서 푼다 (TextCompression) -> 큰 본문도 버퍼 크기만큼만 heap 을 쓴다
+ * */
+@Repository
+public class PostContentStreamer {
+
+    private static final String SELECT_CONTENT_SQL =
+            "select b.content from post p join post_body b on b.post_body_id = p.body_id where p.post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostContentStreamer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    //게시글이 없으면 false//
+    public boolean copyTo(Long postId, Writer out) {
+        Boolean found = jdbcTemplate.query(SELECT_CONTENT_SQL, rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            try (Reader reader = new InputStreamReader(
+                    TextCompression.decodingStream(rs.getBinaryStream(1)), StandardCharsets.UTF_8)) {
+                reader.transferTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        }, postId);
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -0,0 +1,82 @@
+package board.example.myboard.domain.post.repository;
+
+import board.example.myboard.domain.comment.service.Post;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * 게시글 댓글 수/조회수 증감 (JDBC)
+ * - JPQL 벌크 update 는 Hibernate 가 post 2차 캐시 region 전체를 비우므로, 바뀐 게시글만 직접 비운다
+ * - 지금 비우고 (같은 트랜잭션에서 다시 읽을 때) 커밋 후에 한 번 더 비운다
+ *   (커밋 전에 다른 트랜잭션이 이전 값을 다시 캐시에 올렸을 수 있다)
+ * - 목록 쿼리 캐시(post-list)는 카운터를 담지 않으므로 비우지 않는다 (목록은 카운터를 따로 읽는다)
+ * - JPQL 처럼 실행 전에 영속성 컨텍스트를 flush 한다 (같은 트랜잭션에서 저장한 게시글이 아직 insert 되지 않았을 수 있다)
+ * */
+@Repository
+public class PostCounterRepository {
+
+    private static final String ADD_COMMENT_COUNT_SQL = "update post set comment_count = comment_count + ? where post_id = ?";
+    private static final String ADD_VIEW_COUNT_SQL = "update post set view_count = view_count + ? where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager em;
+    private final SessionFactory sessionFactory;
+
+    public PostCounterRepository(JdbcTemplate jdbcTemplate, EntityManager em, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.em = em;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    public int addCommentCount(Long postId, long delta) {
+        flushPending();
+        int updated = jdbcTemplate.update(ADD_COMMENT_COUNT_SQL, delta, postId);
+        evict(List.of(postId));
+        return updated;
+    }
+
+    //postId -> 증가분, 게시글당 한 줄씩 batch//
+    public void addViewCounts(Map<Long, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        flushPending();
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        deltas.forEach((postId, delta) -> batchArgs.add(new Object[]{delta, postId}));
+
+        jdbcTemplate.batchUpdate(ADD_VIEW_COUNT_SQL, batchArgs);
+        evict(deltas.keySet());
+    }
+
+    private void flushPending() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            em.flush();
+        }
+    }
+
+    private void evict(Collection<Long> postIds) {
+        List<Long> ids = List.copyOf(postIds);
+        Runnable eviction = () -> ids.forEach(id -> sessionFactory.getCache().evictEntityData(Post.class, id));
+
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package board.example.myboard.domain.post.repository;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.dto.PostCounterDto;
+import board.example.myboard.domain.post.dto.PostDocumentDto;
+import board.example.myboard.domain.post.dto.PostSummaryDto;
+import board.example.myboard.global.config.HibernateCacheConfig;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PostRepository extends JpaRepository<Post, Long> {
+
+    //최신순 첫 페이지: 가장 많이 조회되므로 쿼리 캐시 (post/member 가 바뀌면 Hibernate 가 무효화)//
+    //카운터는 자주 바뀌어 캐시를 계속 비우게 되므로 담지 않는다 (findCountersByIdIn)//
+    @QueryHints({@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_CACHE_REGION, value = HibernateCacheConfig.POST_LIST_REGION)})
+    @Query("select new board.example.myboard.domain.post.dto.PostSummaryDto(" +
+            "p.id, p.title, p.preview, w.nickname, p.createdDate, p.filePath) " +
+            "from Post p left join p.writer w " +
+            "order by p.createdDate desc, p.id desc")
+    List<PostSummaryDto> findFirstSummaries(Pageable pageable);
+
+    //keyset 페이징: offset 없이 (createdDate, id) 커서 이후의 행만 인덱스로 찾는다//
+    @Query("select new board.example.myboard.domain.post.dto.PostSummaryDto(" +
+            "p.id, p.title, p.preview, w.nickname, p.createdDate, p.filePath) " +
+            "from Post p left join p.writer w " +
+            "where p.createdDate < :createdDate or (p.createdDate = :createdDate and p.id < :id) " +
+            "order by p.createdDate desc, p.id desc")
+    List<PostSummaryDto> findSummariesBefore(@Param("createdDate") LocalDateTime createdDate,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    //목록 페이지의 카운터: 캐시하지 않고 페이지의 id 로 따로 읽는다//
+    @Query("select new board.example.myboard.domain.post.dto.PostCounterDto(p.id, p.commentCount, p.viewCount) " +
+            "from Post p where p.id in :ids")
+    List<PostCounterDto> findCountersByIdIn(@Param("ids") Collection<Long> ids);
+
+    //검색 색인 재생성: id 순서로 chunk 단위 조회//
+    @Query("select new board.example.myboard.domain.post.dto.PostDocumentDto(p.id, p.title, b.content) " +
+            "from Post p join p.body b where p.id > :id order by p.id")
+    List<PostDocumentDto> findDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    //검색 색인 catch-up: checkpoint 이후 등록/수정된 게시글 (본문만 바뀐 경우 포함)//
+    @Query("select new board.example.myboard.domain.post.dto.PostDocumentDto(p.id, p.title, b.content) " +
+            "from Post p join p.body b " +
+            "where (p.lastModifiedDate >= :since or b.lastModifiedDate >= :since) and p.id > :id order by p.id")
+    List<PostDocumentDto> findDocumentsModifiedSince(@Param("since") LocalDateTime since,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    //첨부파일 조회: 본문/작성자 없이 filePath 만//
+    @Query("select p.filePath from Post p where p.id = :id")
+    Optional<String> findFilePathById(@Param("id") Long id);
+
+    //첨부파일 업로드 권한 확인: 작성자 username 만//
+    @Query("select w.username from Post p join p.writer w where p.id = :id")
+    Optional<String> findWriterUsernameById(@Param("id") Long id);
+
+    @Query("select p.id from Post p where p.writer.id = :writerId")
+    List<Long> findIdsByWriterId(@Param("writerId") Long writerId);
+
+    @Query("select p.body.id from Post p where p.writer.id = :writerId")
+    List<Long> findBodyIdsByWriterId(@Param("writerId") Long writerId);
+
+    @Query("select p.body.id from Post p where p.id = :id")
+    Optional<Long> findBodyIdById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Post p where p.id = :id")
+    int deletePostById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Post p where p.writer.id = :writerId")
+    int deleteAllByWriterId(@Param("writerId") Long writerId);
+
+    //게시글을 지운 뒤 본문 삭제 (FK 가 post -> post_body 방향)//
+    @Modifying(clearAutomatically = true)
+    @Query("delete from PostBody b where b.id in :ids")
+    int deleteBodiesByIds(@Param("ids") List<Long> ids);
+
+    //일괄 삭제로 댓글 수가 바뀐 게시글은 다시 센다//
+    @Modifying
+    @Query("update Post p set p.commentCount = (select count(c) from Comment c where c.post = p) where p.id in :ids")
+    int recountComments(@Param("ids") List<Long> ids);
+}
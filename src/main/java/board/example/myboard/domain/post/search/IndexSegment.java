@@ -0,0 +1,34 @@
+package board.example.myboard.domain.post.search;
+
+import java.util.BitSet;
+
+/*
+ * 검색 대상 하나 (메모리 버퍼 또는 디스크 세그먼트)
+ * 호출하는 쪽이 SegmentedSearchIndex 의 lock 을 잡고 사용한다
+ * */
+interface IndexSegment {
+
+    //docId 는 0 ~ maxDoc-1//
+    int maxDoc();
+
+    int liveDocs();
+
+    long totalLength();
+
+    boolean isDeleted(int doc);
+
+    BitSet deletedSnapshot();
+
+    long postId(int doc);
+
+    String title(int doc);
+
+    int length(int doc);
+
+    int docFreq(String term);
+
+    //없는 토큰이면 null//
+    PostingCursor postings(String term);
+
+    Iterable<String> terms();
+}
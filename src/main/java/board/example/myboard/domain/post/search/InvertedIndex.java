@@ -0,0 +1,199 @@
+package board.example.myboard.domain.post.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 게시글 제목/본문 역색인 (메모리)
+ * - 게시글마다 내부 docId(int) 를 순서대로 발급하고, 토큰 -> PostingList(docId, tf) 로 저장
+ * - 수정은 기존 docId 를 삭제 표시하고 새 docId 로 다시 추가 (posting list 는 항상 append)
+ * - 삭제 표시가 쌓이면 posting list 에서 삭제된 docId 를 걷어낸다
+ * - SegmentedSearchIndex 에서는 디스크 세그먼트로 내리기 전까지의 쓰기 버퍼로 사용
+ * */
+public class InvertedIndex implements IndexSegment {
+
+    static final int TITLE_WEIGHT = 3;
+
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docByPostId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] postIds = new long[1024];
+    private String[] titles = new String[1024];
+    private int[] lengths = new int[1024];
+
+    private int nextDoc;
+    private int liveDocs;
+    private int deletedDocs;
+    private long totalLength;
+
+    //제목은 가중치를 두어 본문보다 높게 평가//
+    public static Map<String, Integer> analyze(String title, String content) {
+        Map<String, Integer> tf = new LinkedHashMap<>();
+        SearchTokenizer.termFrequencies(title, TITLE_WEIGHT, tf);
+        SearchTokenizer.termFrequencies(content, 1, tf);
+        return tf;
+    }
+
+    public void add(Long postId, String title, String content) {
+        Map<String, Integer> tf = analyze(title, content);
+
+        lock.writeLock().lock();
+        try {
+            addAnalyzed(postId, title, tf);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return SegmentSearcher.search(List.of(this), query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //이하 lock 없이 호출 (SegmentedSearchIndex 가 바깥에서 lock 을 잡는다)//
+
+    void addAnalyzed(Long postId, String title, Map<String, Integer> tf) {
+        removeUnlocked(postId);
+
+        int doc = nextDoc++;
+        ensureCapacity(doc);
+
+        int length = 0;
+        for (Map.Entry<String, Integer> term : tf.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), key -> new PostingList()).append(doc, term.getValue());
+            length += term.getValue();
+        }
+
+        postIds[doc] = postId;
+        titles[doc] = title;
+        lengths[doc] = length;
+        docByPostId.put(postId, doc);
+        liveDocs++;
+        totalLength += length;
+    }
+
+    boolean removeUnlocked(Long postId) {
+        Integer doc = docByPostId.remove(postId);
+        if (doc == null) {
+            return false;
+        }
+
+        deleted.set(doc);
+        titles[doc] = null;
+        liveDocs--;
+        deletedDocs++;
+        totalLength -= lengths[doc];
+
+        if (deletedDocs >= COMPACT_MIN_DELETED && deletedDocs > liveDocs) {
+            compact();
+        }
+        return true;
+    }
+
+    @Override
+    public int maxDoc() {
+        return nextDoc;
+    }
+
+    @Override
+    public int liveDocs() {
+        return liveDocs;
+    }
+
+    @Override
+    public long totalLength() {
+        return totalLength;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public BitSet deletedSnapshot() {
+        return (BitSet) deleted.clone();
+    }
+
+    @Override
+    public long postId(int doc) {
+        return postIds[doc];
+    }
+
+    @Override
+    public String title(int doc) {
+        return titles[doc];
+    }
+
+    @Override
+    public int length(int doc) {
+        return lengths[doc];
+    }
+
+    @Override
+    public int docFreq(String term) {
+        PostingList list = postings.get(term);
+        return list == null ? 0 : list.docCount();
+    }
+
+    @Override
+    public PostingCursor postings(String term) {
+        PostingList list = postings.get(term);
+        return list == null ? null : list.cursor();
+    }
+
+    @Override
+    public Iterable<String> terms() {
+        return postings.keySet();
+    }
+
+    //삭제된 docId 를 posting list 에서 걷어낸다 (docId 는 그대로)//
+    private void compact() {
+        postings.replaceAll((term, list) -> list.without(deleted));
+        postings.values().removeIf(list -> list.docCount() == 0);
+        deletedDocs = 0;
+    }
+
+    private void ensureCapacity(int doc) {
+        if (doc < postIds.length) {
+            return;
+        }
+        int capacity = Math.max(postIds.length * 2, doc + 1);
+        postIds = Arrays.copyOf(postIds, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        lengths = Arrays.copyOf(lengths, capacity);
+    }
+}
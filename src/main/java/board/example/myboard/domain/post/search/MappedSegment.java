@@ -0,0 +1,393 @@
+package board.example.myboard.domain.post.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+ * 디스크에 쓰인 불변 세그먼트 (<name>.seg) 를 memory-mapped 로 읽는다
+ * - 파일 내용은 heap 에 올리지 않고 필요한 위치만 읽는다
+ * - docId 는 게시글 id 오름차순이라 id 로 문서를 이진 탐색할 수 있다
+ * - 삭제 표시만 heap 의 BitSet 으로 들고 있다가 <name>.del 에 저장
+ *
+ * 파일 형식 (SegmentWriter 참고)
+ *   header | title 바이트 | doc table | posting | term 바이트 | term table
+ *   doc table 항목 : postId(long) length(int) titleOffset(int) titleLength(int)
+ *   term table 항목: termOffset(int) termLength(int) postingOffset(long) postingLength(int) docFreq(int)
+ *   term table 은 UTF-8 바이트 순으로 정렬
+ * */
+final class MappedSegment implements IndexSegment {
+
+    static final int MAGIC = 0x4D42_4958;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 64;
+    static final int DOC_ENTRY_SIZE = 20;
+    static final int TERM_ENTRY_SIZE = 24;
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String DELETIONS_SUFFIX = ".del";
+
+    private final String name;
+    private final Path directory;
+    private final MappedByteBuffer buffer;
+
+    private final int docCount;
+    private final int termCount;
+    private final long writtenTotalLength;
+    private final int titleDataOffset;
+    private final int docTableOffset;
+    private final int termDataOffset;
+    private final int termTableOffset;
+
+    private final BitSet deleted;
+    private int deletedCount;
+    private long deletedLength;
+    private boolean deletionsDirty;
+
+    private MappedSegment(String name, Path directory, MappedByteBuffer buffer, BitSet deleted) throws IOException {
+        this.name = name;
+        this.directory = directory;
+        this.buffer = buffer;
+
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("검색 세그먼트 형식이 아닙니다. segment: " + name);
+        }
+        this.docCount = buffer.getInt(8);
+        this.termCount = buffer.getInt(12);
+        this.writtenTotalLength = buffer.getLong(16);
+        this.titleDataOffset = (int) buffer.getLong(24);
+        this.docTableOffset = (int) buffer.getLong(32);
+        this.termDataOffset = (int) buffer.getLong(40);
+        this.termTableOffset = (int) buffer.getLong(48);
+
+        this.deleted = deleted;
+        for (int doc = deleted.nextSetBit(0); doc >= 0 && doc < docCount; doc = deleted.nextSetBit(doc + 1)) {
+            deletedCount++;
+            deletedLength += length(doc);
+        }
+    }
+
+    static MappedSegment open(Path directory, String name) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(directory.resolve(name + SEGMENT_SUFFIX), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("세그먼트가 너무 큽니다. segment: " + name);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return new MappedSegment(name, directory, buffer, readDeletions(directory.resolve(name + DELETIONS_SUFFIX)));
+    }
+
+    String name() {
+        return name;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    //게시글 id 의 문서를 삭제 표시 (이 세그먼트에 없거나 이미 삭제됐으면 false)//
+    boolean delete(long postId) {
+        int doc = findDoc(postId);
+        if (doc < 0 || deleted.get(doc)) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        deletedLength += length(doc);
+        deletionsDirty = true;
+        return true;
+    }
+
+    boolean hasUnsavedDeletions() {
+        return deletionsDirty;
+    }
+
+    //바뀐 삭제 표시만 임시 파일에 쓰고 교체//
+    void writeDeletions() throws IOException {
+        if (!deletionsDirty) {
+            return;
+        }
+
+        Path target = directory.resolve(name + DELETIONS_SUFFIX);
+        Path temp = directory.resolve(name + DELETIONS_SUFFIX + ".tmp");
+        long[] words = deleted.toLongArray();
+
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(words.length);
+            for (long word : words) {
+                out.writeLong(word);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        deletionsDirty = false;
+    }
+
+    void deleteFiles() throws IOException {
+        Files.deleteIfExists(directory.resolve(name + DELETIONS_SUFFIX));
+        Files.deleteIfExists(directory.resolve(name + SEGMENT_SUFFIX));
+    }
+
+    @Override
+    public int maxDoc() {
+        return docCount;
+    }
+
+    @Override
+    public int liveDocs() {
+        return docCount - deletedCount;
+    }
+
+    @Override
+    public long totalLength() {
+        return writtenTotalLength - deletedLength;
+    }
+
+    @Override
+    public boolean isDeleted(int doc) {
+        return deleted.get(doc);
+    }
+
+    @Override
+    public BitSet deletedSnapshot() {
+        return (BitSet) deleted.clone();
+    }
+
+    @Override
+    public long postId(int doc) {
+        return buffer.getLong(docEntry(doc));
+    }
+
+    @Override
+    public int length(int doc) {
+        return buffer.getInt(docEntry(doc) + 8);
+    }
+
+    @Override
+    public String title(int doc) {
+        int entry = docEntry(doc);
+        return string(titleDataOffset + buffer.getInt(entry + 12), buffer.getInt(entry + 16));
+    }
+
+    @Override
+    public int docFreq(String term) {
+        int index = findTerm(term.getBytes(StandardCharsets.UTF_8));
+        return index < 0 ? 0 : buffer.getInt(termEntry(index) + 20);
+    }
+
+    @Override
+    public PostingCursor postings(String term) {
+        int index = findTerm(term.getBytes(StandardCharsets.UTF_8));
+        if (index < 0) {
+            return null;
+        }
+        int entry = termEntry(index);
+        return new MappedPostingCursor(buffer, (int) buffer.getLong(entry + 8), buffer.getInt(entry + 16));
+    }
+
+    @Override
+    public Iterable<String> terms() {
+        return () -> new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < termCount;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int entry = termEntry(index++);
+                return string(termDataOffset + buffer.getInt(entry), buffer.getInt(entry + 4));
+            }
+        };
+    }
+
+    private int docEntry(int doc) {
+        return docTableOffset + doc * DOC_ENTRY_SIZE;
+    }
+
+    private int termEntry(int index) {
+        return termTableOffset + index * TERM_ENTRY_SIZE;
+    }
+
+    private int findDoc(long postId) {
+        int low = 0;
+        int high = docCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midPostId = postId(mid);
+            if (midPostId < postId) {
+                low = mid + 1;
+            } else if (midPostId > postId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int findTerm(byte[] term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareTerm(mid, term);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    //term table 의 index 번째 토큰과 term 을 UTF-8 바이트 순으로 비교//
+    private int compareTerm(int index, byte[] term) {
+        int entry = termEntry(index);
+        int offset = termDataOffset + buffer.getInt(entry);
+        int length = buffer.getInt(entry + 4);
+
+        int common = Math.min(length, term.length);
+        for (int i = 0; i < common; i++) {
+            int cmp = Byte.toUnsignedInt(buffer.get(offset + i)) - Byte.toUnsignedInt(term[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return length - term.length;
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static BitSet readDeletions(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return new BitSet();
+        }
+
+        try (InputStream in = Files.newInputStream(file);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            long[] words = new long[data.readInt()];
+            for (int i = 0; i < words.length; i++) {
+                words[i] = data.readLong();
+            }
+            return BitSet.valueOf(words);
+        }
+    }
+
+    //세그먼트 파일 안의 posting list 를 읽는 cursor (PostingList.Cursor 와 같은 인코딩)//
+    private static final class MappedPostingCursor implements PostingCursor {
+
+        private final ByteBuffer buffer;
+        private final int skipCount;
+        private final int skipBase;
+        private final int dataStart;
+        private final int end;
+
+        private int position;
+        private int doc = -1;
+        private int tf;
+
+        MappedPostingCursor(ByteBuffer buffer, int offset, int dataLength) {
+            this.buffer = buffer;
+            this.skipCount = buffer.getInt(offset);
+            this.skipBase = offset + 4;
+            this.dataStart = skipBase + skipCount * 8;
+            this.end = dataStart + dataLength;
+            this.position = dataStart;
+        }
+
+        @Override
+        public boolean next() {
+            if (position >= end) {
+                return false;
+            }
+            doc += readVInt();
+            tf = readVInt();
+            return true;
+        }
+
+        @Override
+        public int doc() {
+            return doc;
+        }
+
+        @Override
+        public int tf() {
+            return tf;
+        }
+
+        @Override
+        public boolean advance(int target) {
+            int skip = lastSkipBefore(target);
+            if (skip >= 0) {
+                int skipDoc = buffer.getInt(skipBase + skip * 8);
+                if (skipDoc > doc) {
+                    doc = skipDoc;
+                    position = dataStart + buffer.getInt(skipBase + skip * 8 + 4);
+                }
+            }
+
+            while (next()) {
+                if (doc >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int lastSkipBefore(int target) {
+            int low = 0;
+            int high = skipCount - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (buffer.getInt(skipBase + mid * 8) < target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
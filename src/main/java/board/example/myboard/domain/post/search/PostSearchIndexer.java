@@ -0,0 +1,208 @@
+package board.example.myboard.domain.post.search;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.dto.PostDocumentDto;
+import board.example.myboard.domain.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/*
+ * 게시글 검색 색인 관리
+ * - 게시글 등록/수정/삭제가 커밋된 뒤에 색인에 반영 (롤백된 변경은 반영하지 않음)
+ * - 색인은 디스크 세그먼트로 저장되므로 시작 시 파일만 열고 (웹 서버가 요청을 받기 전)
+ *   마지막 flush 이후 수정된 게시글만 DB 에서 다시 읽는다
+ * - 삭제는 같은 트랜잭션에서 POST_SEARCH_TOMBSTONE 에 남겨서 catch-up 때 다시 지운다
+ * - catch-up 후 색인의 게시글 수가 DB 와 다르면 (DB 가 새로 만들어졌거나 기록이 없는 변경) 전체를 다시 만든다
+ * - 저장된 색인이 없거나 rebuild-on-startup 이면 DB 에서 전체를 다시 만든다
+ * */
+@Slf4j
+@Component
+public class PostSearchIndexer implements SmartInitializingSingleton {
+
+    //커밋 후 색인에 반영되기까지의 지연을 감안해 checkpoint 를 앞당긴다//
+    private static final Duration CHECKPOINT_MARGIN = Duration.ofMinutes(1);
+
+    private static final String INSERT_TOMBSTONE_SQL =
+            "insert into post_search_tombstone (post_id, deleted_date) values (?, ?)";
+    private static final String SELECT_TOMBSTONES_SQL =
+            "select post_id from post_search_tombstone where deleted_date >= ?";
+    private static final String DELETE_TOMBSTONES_SQL =
+            "delete from post_search_tombstone where deleted_date < ?";
+
+    private final PostRepository postRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean rebuildOnStartup;
+    private final int rebuildChunkSize;
+    private final SegmentedSearchIndex index;
+
+    public PostSearchIndexer(PostRepository postRepository, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${post.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+                             @Value("${post.search.rebuild-chunk-size:500}") int rebuildChunkSize,
+                             @Value("${post.search.index-dir:data/search-index}") String indexDir,
+                             @Value("${post.search.merge-factor:10}") int mergeFactor) {
+        this.postRepository = postRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildChunkSize = Math.max(1, rebuildChunkSize);
+
+        try {
+            this.index = SegmentedSearchIndex.open(Path.of(indexDir), mergeFactor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("검색 색인을 열 수 없습니다. dir: " + indexDir, e);
+        }
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime checkpoint = index.checkpoint();
+        if (rebuildOnStartup || checkpoint == null) {
+            rebuild();
+            return;
+        }
+
+        catchUp(checkpoint);
+        long posts = postRepository.count();
+        if (index.size() != posts) {
+            log.warn("검색 색인과 DB 의 게시글 수가 다릅니다. 색인을 다시 만듭니다. index: {}, db: {}", index.size(), posts);
+            rebuild();
+        }
+    }
+
+    public void index(Post post) {
+        Long id = post.getId();
+        String title = post.getTitle();
+        String content = post.getContent();
+        afterCommit(() -> index.add(id, title, content));
+    }
+
+    //게시글 삭제와 같은 트랜잭션에서 호출 (삭제 기록도 함께 커밋/롤백된다)//
+    public void remove(Long postId) {
+        removeAll(List.of(postId));
+    }
+
+    public void removeAll(List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_TOMBSTONE_SQL,
+                postIds.stream().map(id -> new Object[]{id, now}).toList());
+        afterCommit(() -> postIds.forEach(index::remove));
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    //메모리 버퍼를 세그먼트로 내리고, 세그먼트가 많아졌으면 백그라운드 병합//
+    //삭제 기록은 저장된 checkpoint 이전 것만 지운다 (바뀐 것이 없으면 checkpoint 가 그대로다)//
+    @Scheduled(fixedDelayString = "${post.search.flush-interval-ms:10000}")
+    public void flush() {
+        try {
+            if (index.flush(LocalDateTime.now().minus(CHECKPOINT_MARGIN))) {
+                jdbcTemplate.update(DELETE_TOMBSTONES_SQL, Timestamp.valueOf(index.checkpoint()));
+            }
+            index.maybeMerge();
+        } catch (IOException e) {
+            log.warn("검색 색인을 저장하지 못했습니다.", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        flush();
+        index.close();
+    }
+
+    //id 순서로 chunk 단위로 읽어서 색인을 새로 만든다//
+    public void rebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        try {
+            index.reset();
+            long lastId = 0L;
+
+            while (true) {
+                long after = lastId;
+                List<PostDocumentDto> documents = readOnlyTransaction.execute(status ->
+                        postRepository.findDocumentsAfter(after, PageRequest.of(0, rebuildChunkSize)));
+
+                if (documents == null || documents.isEmpty()) {
+                    break;
+                }
+                for (PostDocumentDto document : documents) {
+                    index.add(document.id(), document.title(), document.content());
+                }
+                lastId = documents.get(documents.size() - 1).id();
+            }
+
+            index.flush(startedAt.minus(CHECKPOINT_MARGIN));
+        } catch (IOException e) {
+            throw new UncheckedIOException("검색 색인을 만들지 못했습니다.", e);
+        }
+        log.info("게시글 검색 색인을 만들었습니다. posts: {}", index.size());
+    }
+
+    //checkpoint 이후 수정된 게시글은 다시 색인, 삭제된 게시글은 지운다 (비정상 종료로 flush 되지 못한 변경)//
+    private void catchUp(LocalDateTime checkpoint) {
+        int count = 0;
+        long lastId = 0L;
+
+        while (true) {
+            long after = lastId;
+            List<PostDocumentDto> documents = readOnlyTransaction.execute(status ->
+                    postRepository.findDocumentsModifiedSince(checkpoint, after, PageRequest.of(0, rebuildChunkSize)));
+
+            if (documents == null || documents.isEmpty()) {
+                break;
+            }
+            for (PostDocumentDto document : documents) {
+                index.add(document.id(), document.title(), document.content());
+            }
+            count += documents.size();
+            lastId = documents.get(documents.size() - 1).id();
+        }
+
+        List<Long> deleted = jdbcTemplate.queryForList(SELECT_TOMBSTONES_SQL, Long.class, Timestamp.valueOf(checkpoint));
+        deleted.forEach(index::remove);
+
+        log.info("검색 색인을 열었습니다. posts: {}, checkpoint 이후 다시 색인: {}, 삭제: {}",
+                index.size(), count, deleted.size());
+    }
+
+    private void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package board.example.myboard.domain.post.search;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+/*
+ * 삭제된 게시글 기록 (검색 색인 catch-up 용)
+ * - 게시글 삭제와 같은 트랜잭션에서 PostSearchIndexer 가 JDBC 로 쓴다
+ * - 색인을 flush 하기 전에 죽으면 재시작할 때 checkpoint 이후 기록을 읽어 색인에서 지운다
+ * - checkpoint 이전 기록은 flush 할 때 지운다
+ * */
+@Table(name = "POST_SEARCH_TOMBSTONE", indexes = @Index(name = "idx_post_search_tombstone_deleted_date",
+        columnList = "deleted_date"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class PostSearchTombstone {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "deleted_date", nullable = false)
+    private LocalDateTime deletedDate;
+}
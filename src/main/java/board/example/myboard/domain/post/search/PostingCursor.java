@@ -0,0 +1,14 @@
+package board.example.myboard.domain.post.search;
+
+//posting list 를 docId 오름차순으로 읽는다//
+interface PostingCursor {
+
+    boolean next();
+
+    int doc();
+
+    int tf();
+
+    //target 이상인 첫 문서로 이동 (없으면 false)//
+    boolean advance(int target);
+}
@@ -0,0 +1,167 @@
+package board.example.myboard.domain.post.search;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/*
+ * 한 토큰의 posting list
+ * - (docId, tf) 를 docId 오름차순으로 추가하고 docId 는 앞 값과의 차이만 저장
+ * - 차이/tf 는 variable-byte 로 인코딩 (작은 값은 1바이트)
+ * - SKIP_INTERVAL 개마다 (직전 docId, 바이트 위치) 를 남겨 교집합 시 긴 목록을 건너뛴다
+ * */
+final class PostingList {
+
+    private static final int SKIP_INTERVAL = 64;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int docCount;
+    private int lastDoc = -1;
+
+    private int[] skipDocs = new int[0];
+    private int[] skipOffsets = new int[0];
+    private int skipCount;
+
+    void append(int doc, int tf) {
+        if (doc <= lastDoc) {
+            throw new IllegalArgumentException("docId 는 증가해야 합니다. last: " + lastDoc + ", doc: " + doc);
+        }
+        if (docCount > 0 && docCount % SKIP_INTERVAL == 0) {
+            addSkip(lastDoc, length);
+        }
+        writeVInt(doc - lastDoc);
+        writeVInt(tf);
+        lastDoc = doc;
+        docCount++;
+    }
+
+    int docCount() {
+        return docCount;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    //세그먼트 파일 형식: skip 개수, (docId, 바이트 위치) * skip 개수, posting 바이트//
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(skipCount);
+        for (int i = 0; i < skipCount; i++) {
+            out.writeInt(skipDocs[i]);
+            out.writeInt(skipOffsets[i]);
+        }
+        out.write(data, 0, length);
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    //삭제된 문서를 뺀 새 posting list//
+    PostingList without(BitSet deleted) {
+        PostingList compacted = new PostingList();
+        Cursor cursor = cursor();
+        while (cursor.next()) {
+            if (!deleted.get(cursor.doc())) {
+                compacted.append(cursor.doc(), cursor.tf());
+            }
+        }
+        return compacted;
+    }
+
+    private void addSkip(int doc, int offset) {
+        if (skipCount == skipDocs.length) {
+            int capacity = Math.max(8, skipCount * 2);
+            skipDocs = Arrays.copyOf(skipDocs, capacity);
+            skipOffsets = Arrays.copyOf(skipOffsets, capacity);
+        }
+        skipDocs[skipCount] = doc;
+        skipOffsets[skipCount] = offset;
+        skipCount++;
+    }
+
+    private void writeVInt(int value) {
+        if (length + 5 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        }
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    final class Cursor implements PostingCursor {
+
+        private int position;
+        private int doc = -1;
+        private int tf;
+
+        @Override
+        public boolean next() {
+            if (position >= length) {
+                return false;
+            }
+            doc += readVInt();
+            tf = readVInt();
+            return true;
+        }
+
+        @Override
+        public int doc() {
+            return doc;
+        }
+
+        @Override
+        public int tf() {
+            return tf;
+        }
+
+        @Override
+        public boolean advance(int target) {
+            int skip = lastSkipBefore(target);
+            if (skip >= 0 && skipDocs[skip] > doc) {
+                doc = skipDocs[skip];
+                position = skipOffsets[skip];
+            }
+
+            while (next()) {
+                if (doc >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        //skipDocs[i] < target 인 마지막 i//
+        private int lastSkipBefore(int target) {
+            int low = 0;
+            int high = skipCount - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (skipDocs[mid] < target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found;
+        }
+
+        private int readVInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package board.example.myboard.domain.post.search;
+
+import java.util.List;
+
+//total: 검색어를 모두 포함하는 게시글 수//
+public record SearchResult(List<Hit> hits, int total) {
+
+    public record Hit(Long postId, String title, float score) {
+    }
+
+    static SearchResult empty() {
+        return new SearchResult(List.of(), 0);
+    }
+}
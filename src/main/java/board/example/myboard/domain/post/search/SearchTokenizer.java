@@ -0,0 +1,79 @@
+package board.example.myboard.domain.post.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * 검색어/본문 토큰 분리
+ * - 문자/숫자가 아닌 글자로 나누고 소문자로 맞춘다
+ * - 한글은 조사가 붙어 있어 단어 단위로는 찾기 어려우므로 2글자씩(bigram) 나눈다
+ *   ex) "게시판에서" -> 게시, 시판, 판에, 에서
+ * */
+public final class SearchTokenizer {
+
+    private static final int MAX_TOKEN_LENGTH = 32;
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        boolean hangul = false;
+
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+
+            if (Character.isLetterOrDigit(cp)) {
+                boolean isHangul = Character.UnicodeScript.of(cp) == Character.UnicodeScript.HANGUL;
+                //한글과 다른 문자가 붙어 있으면 나눈다 ex) "JPA로" -> jpa, 로//
+                if (word.length() > 0 && isHangul != hangul) {
+                    emit(word, hangul, tokens);
+                }
+                hangul = isHangul;
+                word.appendCodePoint(Character.toLowerCase(cp));
+            } else if (word.length() > 0) {
+                emit(word, hangul, tokens);
+            }
+        }
+
+        if (word.length() > 0) {
+            emit(word, hangul, tokens);
+        }
+        return tokens;
+    }
+
+    //토큰별 등장 횟수 (등장 순서 유지)//
+    public static Map<String, Integer> termFrequencies(String text, int weight, Map<String, Integer> into) {
+        for (String token : tokenize(text)) {
+            into.merge(token, weight, Integer::sum);
+        }
+        return into;
+    }
+
+    public static Map<String, Integer> termFrequencies(String text) {
+        return termFrequencies(text, 1, new LinkedHashMap<>());
+    }
+
+    private static void emit(StringBuilder word, boolean hangul, List<String> tokens) {
+        String token = word.length() > MAX_TOKEN_LENGTH ? word.substring(0, MAX_TOKEN_LENGTH) : word.toString();
+        word.setLength(0);
+
+        if (!hangul || token.length() <= 2) {
+            tokens.add(token);
+            return;
+        }
+
+        for (int i = 0; i + 2 <= token.length(); i++) {
+            tokens.add(token.substring(i, i + 2));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package board.example.myboard.domain.post.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/*
+ * 여러 세그먼트에 걸친 검색
+ * - 모든 검색어를 포함하는 문서만 (짧은 posting list 부터 교집합)
+ * - 점수는 BM25, idf/평균 길이는 전체 세그먼트 기준
+ * - 점수 내림차순, 같으면 최근 게시글(id 큰 순) 우선
+ * */
+final class SegmentSearcher {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private SegmentSearcher() {
+    }
+
+    static SearchResult search(List<? extends IndexSegment> segments, String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(SearchTokenizer.tokenize(query)));
+        if (terms.isEmpty() || limit <= 0 || offset < 0) {
+            return SearchResult.empty();
+        }
+
+        long liveDocs = 0;
+        long totalLength = 0;
+        for (IndexSegment segment : segments) {
+            liveDocs += segment.liveDocs();
+            totalLength += segment.totalLength();
+        }
+        if (liveDocs <= offset) {
+            return SearchResult.empty();
+        }
+        float avgLength = Math.max(1f, (float) totalLength / liveDocs);
+
+        float[] idf = new float[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            long docFreq = 0;
+            for (IndexSegment segment : segments) {
+                docFreq += segment.docFreq(terms.get(i));
+            }
+            if (docFreq == 0) {
+                return SearchResult.empty();
+            }
+            //삭제 표시된 문서도 docFreq 에 포함되므로 liveDocs 를 넘지 않게 맞춘다//
+            docFreq = Math.min(docFreq, liveDocs);
+            idf[i] = (float) Math.log(1 + (liveDocs - docFreq + 0.5) / (docFreq + 0.5));
+        }
+
+        TopHits top = new TopHits((int) Math.min((long) offset + limit, liveDocs));
+        int total = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            total += collect(segments.get(s), s, terms, idf, avgLength, top);
+        }
+        return new SearchResult(top.toHits(segments, offset), total);
+    }
+
+    private static int collect(IndexSegment segment, int segmentIndex, List<String> terms,
+                               float[] idf, float avgLength, TopHits top) {
+        int[] docFreqs = new int[terms.size()];
+        Integer[] order = new Integer[terms.size()];
+        for (int i = 0; i < terms.size(); i++) {
+            docFreqs[i] = segment.docFreq(terms.get(i));
+            if (docFreqs[i] == 0) {
+                return 0;
+            }
+            order[i] = i;
+        }
+        //짧은 posting list 부터 교집합을 구해 후보를 빨리 줄인다//
+        Arrays.sort(order, Comparator.comparingInt(i -> docFreqs[i]));
+
+        int first = order[0];
+        int[] docs = new int[docFreqs[first]];
+        float[] scores = new float[docs.length];
+        int matched = 0;
+
+        PostingCursor cursor = segment.postings(terms.get(first));
+        while (cursor.next()) {
+            int doc = cursor.doc();
+            if (segment.isDeleted(doc)) {
+                continue;
+            }
+            docs[matched] = doc;
+            scores[matched] = idf[first] * termScore(cursor.tf(), segment.length(doc), avgLength);
+            matched++;
+        }
+
+        for (int i = 1; i < order.length && matched > 0; i++) {
+            int term = order[i];
+            matched = intersect(segment, segment.postings(terms.get(term)), idf[term], docs, scores, matched, avgLength);
+        }
+
+        for (int i = 0; i < matched; i++) {
+            top.offer(segmentIndex, docs[i], segment.postId(docs[i]), scores[i]);
+        }
+        return matched;
+    }
+
+    //docs[0..count) 중 cursor 에도 있는 문서만 남기고 점수를 더한다//
+    private static int intersect(IndexSegment segment, PostingCursor cursor, float idf,
+                                 int[] docs, float[] scores, int count, float avgLength) {
+        int kept = 0;
+        boolean positioned = false;
+        for (int i = 0; i < count; i++) {
+            if (!positioned || cursor.doc() < docs[i]) {
+                if (!cursor.advance(docs[i])) {
+                    break;
+                }
+                positioned = true;
+            }
+            if (cursor.doc() == docs[i]) {
+                docs[kept] = docs[i];
+                scores[kept] = scores[i] + idf * termScore(cursor.tf(), segment.length(docs[i]), avgLength);
+                kept++;
+            }
+        }
+        return kept;
+    }
+
+    private static float termScore(int tf, int length, float avgLength) {
+        return tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / avgLength));
+    }
+
+    //가장 낮은 순위가 root 인 크기 capacity 의 min-heap//
+    private static final class TopHits {
+
+        private final int capacity;
+        private final int[] segments;
+        private final int[] docs;
+        private final long[] postIds;
+        private final float[] scores;
+        private int size;
+
+        TopHits(int capacity) {
+            this.capacity = capacity;
+            this.segments = new int[capacity];
+            this.docs = new int[capacity];
+            this.postIds = new long[capacity];
+            this.scores = new float[capacity];
+        }
+
+        void offer(int segment, int doc, long postId, float score) {
+            if (size < capacity) {
+                set(size, segment, doc, postId, score);
+                siftUp(size++);
+            } else if (ranksBefore(score, postId, scores[0], postIds[0])) {
+                set(0, segment, doc, postId, score);
+                siftDown(size);
+            }
+        }
+
+        //root 를 하나씩 꺼내 뒤에서부터 채우면 순위 순서가 된다//
+        List<SearchResult.Hit> toHits(List<? extends IndexSegment> source, int offset) {
+            int count = size;
+            for (int last = count - 1; last > 0; last--) {
+                swap(0, last);
+                siftDown(last);
+            }
+
+            List<SearchResult.Hit> hits = new ArrayList<>(Math.max(0, count - offset));
+            for (int i = offset; i < count; i++) {
+                String title = source.get(segments[i]).title(docs[i]);
+                hits.add(new SearchResult.Hit(postIds[i], title, scores[i]));
+            }
+            return hits;
+        }
+
+        private static boolean ranksBefore(float score, long postId, float otherScore, long otherPostId) {
+            return score != otherScore ? score > otherScore : postId > otherPostId;
+        }
+
+        private boolean ranksBefore(int i, int j) {
+            return ranksBefore(scores[i], postIds[i], scores[j], postIds[j]);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!ranksBefore(parent, index)) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int heapSize) {
+            int index = 0;
+            while (true) {
+                int child = index * 2 + 1;
+                if (child >= heapSize) {
+                    return;
+                }
+                if (child + 1 < heapSize && ranksBefore(child, child + 1)) {
+                    child++;
+                }
+                if (!ranksBefore(index, child)) {
+                    return;
+                }
+                swap(index, child);
+                index = child;
+            }
+        }
+
+        private void set(int i, int segment, int doc, long postId, float score) {
+            segments[i] = segment;
+            docs[i] = doc;
+            postIds[i] = postId;
+            scores[i] = score;
+        }
+
+        private void swap(int i, int j) {
+            int segment = segments[i];
+            int doc = docs[i];
+            long postId = postIds[i];
+            float score = scores[i];
+            set(i, segments[j], docs[j], postIds[j], scores[j]);
+            set(j, segment, doc, postId, score);
+        }
+    }
+}
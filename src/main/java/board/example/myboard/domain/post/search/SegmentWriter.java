@@ -0,0 +1,270 @@
+package board.example.myboard.domain.post.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/*
+ * 세그먼트 파일 쓰기 (버퍼 flush, 세그먼트 병합 공용)
+ * - 원본들의 삭제되지 않은 문서를 게시글 id 순으로 새 docId 를 매겨 하나의 파일로 쓴다
+ * - 임시 파일에 다 쓰고 fsync 한 뒤 이름을 바꾸므로 중간에 죽어도 반쯤 쓰인 세그먼트는 남지 않는다
+ * - 형식은 MappedSegment 참고
+ * */
+final class SegmentWriter {
+
+    private SegmentWriter() {
+    }
+
+    //deletions.get(i): 원본 i 에서 제외할 문서 (병합 시작 시점의 삭제 표시)//
+    static void write(Path file, List<? extends IndexSegment> sources, List<BitSet> deletions) throws IOException {
+        DocMapping mapping = mapDocs(sources, deletions);
+        byte[][] terms = sortedTerms(sources);
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+
+            DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.write(new byte[MappedSegment.HEADER_SIZE]);
+
+            //title//
+            long titleDataOffset = position(out);
+            int[] titleOffsets = new int[mapping.size];
+            int[] titleLengths = new int[mapping.size];
+            long totalLength = 0;
+            for (int doc = 0; doc < mapping.size; doc++) {
+                String title = sources.get(mapping.sources[doc]).title(mapping.oldDocs[doc]);
+                byte[] bytes = title == null ? new byte[0] : title.getBytes(StandardCharsets.UTF_8);
+                titleOffsets[doc] = (int) (position(out) - titleDataOffset);
+                titleLengths[doc] = bytes.length;
+                out.write(bytes);
+            }
+
+            //doc table//
+            long docTableOffset = position(out);
+            for (int doc = 0; doc < mapping.size; doc++) {
+                int length = sources.get(mapping.sources[doc]).length(mapping.oldDocs[doc]);
+                out.writeLong(mapping.postIds[doc]);
+                out.writeInt(length);
+                out.writeInt(titleOffsets[doc]);
+                out.writeInt(titleLengths[doc]);
+                totalLength += length;
+            }
+
+            //posting (토큰 순서대로)//
+            long[] postingOffsets = new long[terms.length];
+            int[] postingLengths = new int[terms.length];
+            int[] docFreqs = new int[terms.length];
+            boolean[] written = new boolean[terms.length];
+            for (int t = 0; t < terms.length; t++) {
+                PostingList postings = remapPostings(new String(terms[t], StandardCharsets.UTF_8), sources, mapping);
+                if (postings.docCount() == 0) {
+                    continue;
+                }
+                postingOffsets[t] = position(out);
+                postingLengths[t] = postings.sizeInBytes();
+                docFreqs[t] = postings.docCount();
+                written[t] = true;
+                postings.writeTo(out);
+            }
+
+            //term 바이트, term table (삭제된 문서에만 있던 토큰은 뺀다)//
+            long termDataOffset = position(out);
+            int[] termOffsets = new int[terms.length];
+            int termCount = 0;
+            for (int t = 0; t < terms.length; t++) {
+                if (written[t]) {
+                    termOffsets[t] = (int) (position(out) - termDataOffset);
+                    out.write(terms[t]);
+                    termCount++;
+                }
+            }
+
+            long termTableOffset = position(out);
+            for (int t = 0; t < terms.length; t++) {
+                if (written[t]) {
+                    out.writeInt(termOffsets[t]);
+                    out.writeInt(terms[t].length);
+                    out.writeLong(postingOffsets[t]);
+                    out.writeInt(postingLengths[t]);
+                    out.writeInt(docFreqs[t]);
+                }
+            }
+            out.flush();
+
+            if (position(out) >= Integer.MAX_VALUE) {
+                throw new IOException("세그먼트가 너무 큽니다. file: " + file);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(MappedSegment.HEADER_SIZE);
+            header.putInt(MappedSegment.MAGIC)
+                    .putInt(MappedSegment.VERSION)
+                    .putInt(mapping.size)
+                    .putInt(termCount)
+                    .putLong(totalLength)
+                    .putLong(titleDataOffset)
+                    .putLong(docTableOffset)
+                    .putLong(termDataOffset)
+                    .putLong(termTableOffset);
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            channel.force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    //DataOutputStream.size() 는 int 라서 2GB 에서 멈춘다 (그 전에 너무 크다고 실패 처리)//
+    private static long position(DataOutputStream out) {
+        return out.size();
+    }
+
+    //원본 문서 -> 새 docId (게시글 id 오름차순)//
+    private static DocMapping mapDocs(List<? extends IndexSegment> sources, List<BitSet> deletions) {
+        int[][] liveBySource = new int[sources.size()][];
+        int size = 0;
+        for (int s = 0; s < sources.size(); s++) {
+            liveBySource[s] = sortedLiveDocs(sources.get(s), deletions.get(s));
+            size += liveBySource[s].length;
+        }
+
+        DocMapping mapping = new DocMapping(sources.size(), size);
+        for (int s = 0; s < sources.size(); s++) {
+            mapping.newDocs[s] = new int[sources.get(s).maxDoc()];
+            Arrays.fill(mapping.newDocs[s], -1);
+        }
+
+        //원본마다 id 순으로 정렬돼 있으므로 k-way merge//
+        int[] cursors = new int[sources.size()];
+        PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, sources.size()), Comparator.comparingLong(
+                s -> sources.get(s).postId(liveBySource[s][cursors[s]])));
+        for (int s = 0; s < sources.size(); s++) {
+            if (liveBySource[s].length > 0) {
+                heads.add(s);
+            }
+        }
+
+        int next = 0;
+        while (!heads.isEmpty()) {
+            int s = heads.poll();
+            int oldDoc = liveBySource[s][cursors[s]++];
+
+            mapping.sources[next] = s;
+            mapping.oldDocs[next] = oldDoc;
+            mapping.postIds[next] = sources.get(s).postId(oldDoc);
+            mapping.newDocs[s][oldDoc] = next;
+            next++;
+
+            if (cursors[s] < liveBySource[s].length) {
+                heads.add(s);
+            }
+        }
+        return mapping;
+    }
+
+    private static int[] sortedLiveDocs(IndexSegment source, BitSet deleted) {
+        int[] docs = new int[source.maxDoc() - deleted.cardinality()];
+        int count = 0;
+        boolean sorted = true;
+        for (int doc = 0; doc < source.maxDoc(); doc++) {
+            if (deleted.get(doc)) {
+                continue;
+            }
+            if (count > 0 && source.postId(docs[count - 1]) > source.postId(doc)) {
+                sorted = false;
+            }
+            docs[count++] = doc;
+        }
+        docs = Arrays.copyOf(docs, count);
+
+        //디스크 세그먼트는 이미 id 순, 메모리 버퍼만 정렬이 필요//
+        if (!sorted) {
+            docs = Arrays.stream(docs).boxed()
+                    .sorted(Comparator.comparingLong(source::postId))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return docs;
+    }
+
+    private static byte[][] sortedTerms(List<? extends IndexSegment> sources) {
+        Set<String> terms = new HashSet<>();
+        for (IndexSegment source : sources) {
+            for (String term : source.terms()) {
+                terms.add(term);
+            }
+        }
+        return terms.stream()
+                .map(term -> term.getBytes(StandardCharsets.UTF_8))
+                .sorted(Arrays::compareUnsigned)
+                .toArray(byte[][]::new);
+    }
+
+    //(새 docId << 32 | tf) 로 모아서 정렬한 뒤 다시 인코딩//
+    private static PostingList remapPostings(String term, List<? extends IndexSegment> sources, DocMapping mapping) {
+        long[] entries = new long[16];
+        int count = 0;
+
+        for (int s = 0; s < sources.size(); s++) {
+            PostingCursor cursor = sources.get(s).postings(term);
+            if (cursor == null) {
+                continue;
+            }
+            while (cursor.next()) {
+                int newDoc = mapping.newDocs[s][cursor.doc()];
+                if (newDoc < 0) {
+                    continue;
+                }
+                if (count == entries.length) {
+                    entries = Arrays.copyOf(entries, count * 2);
+                }
+                entries[count++] = ((long) newDoc << 32) | cursor.tf();
+            }
+        }
+        Arrays.sort(entries, 0, count);
+
+        PostingList postings = new PostingList();
+        for (int i = 0; i < count; i++) {
+            postings.append((int) (entries[i] >>> 32), (int) entries[i]);
+        }
+        return postings;
+    }
+
+    private static final class DocMapping {
+
+        private final int size;
+        private final int[] sources;
+        private final int[] oldDocs;
+        private final long[] postIds;
+        private final int[][] newDocs;
+
+        DocMapping(int sourceCount, int size) {
+            this.size = size;
+            this.sources = new int[size];
+            this.oldDocs = new int[size];
+            this.postIds = new long[size];
+            this.newDocs = new int[sourceCount][];
+        }
+    }
+}
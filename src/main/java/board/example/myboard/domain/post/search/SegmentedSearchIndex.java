@@ -0,0 +1,396 @@
+package board.example.myboard.domain.post.search;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * 디스크 세그먼트 + 메모리 버퍼로 이루어진 검색 색인
+ * - 새 글/수정은 메모리 버퍼(InvertedIndex) 에 쌓고, flush 할 때 불변 세그먼트 파일로 내린다
+ * - 세그먼트는 memory-mapped 로 읽으므로 시작 시 파일만 열면 되고 (게시글 수와 무관) heap 을 쓰지 않는다
+ * - 수정/삭제된 게시글은 이전 세그먼트에서 삭제 표시만 한다 (게시글 id 당 살아있는 문서는 하나)
+ * - 세그먼트가 merge-factor 개 이상이면 작은 것부터 백그라운드에서 병합하며 삭제된 문서를 버린다
+ * - 어떤 세그먼트가 살아있는지는 manifest 파일에 기록하고 임시 파일 + rename 으로 교체
+ * - 한 디렉토리는 한 색인만 연다 (write.lock 파일 잠금, 다른 색인의 세그먼트를 지우거나 덮어쓰지 않게)
+ * */
+@Slf4j
+public class SegmentedSearchIndex implements AutoCloseable {
+
+    private static final String MANIFEST = "segments.properties";
+    private static final String SEGMENT_PREFIX = "seg_";
+    private static final String LOCK = "write.lock";
+
+    private final Path directory;
+    private final FileChannel lockChannel;
+    private final int mergeFactor;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService mergeExecutor;
+
+    //lock 으로 보호//
+    private List<MappedSegment> segments = List.of();
+    private InvertedIndex buffer = new InvertedIndex();
+    private long nextGeneration = 1;
+    private LocalDateTime checkpoint;
+    private boolean merging;
+    private long resets;
+
+    private SegmentedSearchIndex(Path directory, int mergeFactor, FileChannel lockChannel) {
+        this.directory = directory;
+        this.lockChannel = lockChannel;
+        this.mergeFactor = Math.max(2, mergeFactor);
+        this.mergeExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-segment-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /*
+     * 디렉토리를 잠그고 manifest 가 가리키는 세그먼트를 연다, 나머지 파일(중단된 flush/병합의 흔적)은 지운다
+     * 다른 프로세스(또는 같은 JVM 의 다른 색인)가 열고 있으면 바로 실패
+     * */
+    public static SegmentedSearchIndex open(Path directory, int mergeFactor) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel lockChannel = lock(directory);
+        SegmentedSearchIndex index = new SegmentedSearchIndex(directory, mergeFactor, lockChannel);
+        try {
+            index.load();
+        } catch (IOException | RuntimeException e) {
+            index.close();
+            throw e;
+        }
+        log.info("검색 색인을 열었습니다. segments: {}, posts: {}", index.segments.size(), index.size());
+        return index;
+    }
+
+    private static FileChannel lock(Path directory) throws IOException {
+        FileChannel channel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock fileLock;
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("검색 색인을 이미 다른 곳에서 열었습니다. dir: " + directory);
+        }
+        return channel;
+    }
+
+    private void load() throws IOException {
+        Path manifest = directory.resolve(MANIFEST);
+        Set<String> live = new HashSet<>();
+        if (Files.exists(manifest)) {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(manifest)) {
+                properties.load(in);
+            }
+
+            nextGeneration = Long.parseLong(properties.getProperty("generation", "1"));
+            String checkpoint = properties.getProperty("checkpoint", "");
+            this.checkpoint = checkpoint.isEmpty() ? null : LocalDateTime.parse(checkpoint);
+
+            List<MappedSegment> segments = new ArrayList<>();
+            for (String name : properties.getProperty("segments", "").split(",")) {
+                if (!name.isBlank()) {
+                    segments.add(MappedSegment.open(directory, name));
+                    live.add(name);
+                }
+            }
+            this.segments = List.copyOf(segments);
+        }
+
+        deleteUnreferencedFiles(live);
+    }
+
+    //마지막 flush 시점 (이후 변경은 DB 에서 다시 읽어야 한다), 저장된 색인이 없으면 null//
+    public LocalDateTime checkpoint() {
+        lock.readLock().lock();
+        try {
+            return checkpoint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(Long postId, String title, String content) {
+        Map<String, Integer> tf = InvertedIndex.analyze(title, content);
+
+        lock.writeLock().lock();
+        try {
+            for (MappedSegment segment : segments) {
+                segment.delete(postId);
+            }
+            buffer.addAnalyzed(postId, title, tf);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            for (MappedSegment segment : segments) {
+                segment.delete(postId);
+            }
+            buffer.removeUnlocked(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public SearchResult search(String query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<IndexSegment> all = new ArrayList<>(segments.size() + 1);
+            all.addAll(segments);
+            all.add(buffer);
+            return SegmentSearcher.search(all, query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            int size = buffer.liveDocs();
+            for (MappedSegment segment : segments) {
+                size += segment.liveDocs();
+            }
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * 버퍼를 새 세그먼트로 쓰고 삭제 표시와 manifest 를 저장
+     * checkpoint: 이 시각 이전에 커밋된 변경은 모두 색인에 반영되어 있다
+     * 버퍼 크기만큼만 쓰므로 lock 을 잡은 채로 진행한다
+     * 쓸 문서도 바뀐 삭제 표시도 없으면 manifest 와 checkpoint 를 그대로 둔다 (false)
+     * */
+    public boolean flush(LocalDateTime checkpoint) throws IOException {
+        lock.writeLock().lock();
+        try {
+            boolean deletionsChanged = segments.stream().anyMatch(MappedSegment::hasUnsavedDeletions);
+            if (buffer.liveDocs() == 0 && !deletionsChanged && this.checkpoint != null) {
+                buffer = new InvertedIndex();
+                return false;
+            }
+
+            List<MappedSegment> next = segments;
+            if (buffer.liveDocs() > 0) {
+                String name = SEGMENT_PREFIX + nextGeneration++;
+                SegmentWriter.write(segmentFile(name), List.of(buffer), List.of(buffer.deletedSnapshot()));
+
+                next = new ArrayList<>(segments);
+                next.add(MappedSegment.open(directory, name));
+            }
+
+            //모두 삭제된 세그먼트는 버린다//
+            List<MappedSegment> empty = next.stream().filter(segment -> segment.liveDocs() == 0).toList();
+            next = next.stream().filter(segment -> segment.liveDocs() > 0).toList();
+
+            for (MappedSegment segment : next) {
+                segment.writeDeletions();
+            }
+            writeManifest(next, checkpoint);
+
+            segments = List.copyOf(next);
+            buffer = new InvertedIndex();
+            this.checkpoint = checkpoint;
+
+            for (MappedSegment segment : empty) {
+                segment.deleteFiles();
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //세그먼트를 모두 지우고 빈 색인으로 (DB 에서 다시 만들 때)//
+    public void reset() throws IOException {
+        lock.writeLock().lock();
+        try {
+            writeManifest(List.of(), null);
+            for (MappedSegment segment : segments) {
+                segment.deleteFiles();
+            }
+            segments = List.of();
+            buffer = new InvertedIndex();
+            checkpoint = null;
+            resets++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //병합할 세그먼트가 있으면 백그라운드에서 병합//
+    public void maybeMerge() {
+        mergeExecutor.execute(this::merge);
+    }
+
+    /*
+     * 문서 수가 적은 세그먼트 merge-factor 개를 하나로 병합
+     * - 파일을 쓰는 동안은 lock 을 잡지 않는다 (검색/쓰기 가능)
+     * - 그 사이 원본에 생긴 삭제 표시는 교체할 때 병합된 세그먼트로 옮긴다
+     * */
+    public void merge() {
+        List<MappedSegment> sources;
+        List<BitSet> snapshots = new ArrayList<>();
+        String name;
+        long resetsAtStart;
+
+        lock.writeLock().lock();
+        try {
+            if (merging || segments.size() < mergeFactor) {
+                return;
+            }
+            sources = segments.stream()
+                    .sorted(Comparator.comparingInt(MappedSegment::liveDocs))
+                    .limit(mergeFactor)
+                    .toList();
+            sources.forEach(segment -> snapshots.add(segment.deletedSnapshot()));
+            name = SEGMENT_PREFIX + nextGeneration++;
+            resetsAtStart = resets;
+            merging = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            SegmentWriter.write(segmentFile(name), sources, snapshots);
+            MappedSegment merged = MappedSegment.open(directory, name);
+
+            lock.writeLock().lock();
+            try {
+                //병합 중에 색인을 새로 만들었으면 결과를 버린다//
+                if (resets != resetsAtStart) {
+                    merged.deleteFiles();
+                    return;
+                }
+                for (int i = 0; i < sources.size(); i++) {
+                    BitSet deletedSince = sources.get(i).deletedSnapshot();
+                    deletedSince.andNot(snapshots.get(i));
+                    for (int doc = deletedSince.nextSetBit(0); doc >= 0; doc = deletedSince.nextSetBit(doc + 1)) {
+                        merged.delete(sources.get(i).postId(doc));
+                    }
+                }
+
+                List<MappedSegment> next = new ArrayList<>(segments);
+                next.removeAll(sources);
+                next.add(merged);
+
+                merged.writeDeletions();
+                writeManifest(next, checkpoint);
+                segments = List.copyOf(next);
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            for (MappedSegment source : sources) {
+                source.deleteFiles();
+            }
+            log.info("검색 세그먼트를 병합했습니다. sources: {}, posts: {}", sources.size(), merged.liveDocs());
+        } catch (IOException e) {
+            log.warn("검색 세그먼트 병합에 실패했습니다. segment: {}", name, e);
+            deleteQuietly(segmentFile(name));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                merging = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    //병합을 기다린 뒤 디렉토리 잠금을 푼다//
+    @Override
+    public void close() {
+        mergeExecutor.shutdown();
+        try {
+            mergeExecutor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("검색 색인 잠금을 풀지 못했습니다. dir: {}", directory, e);
+        }
+    }
+
+    private Path segmentFile(String name) {
+        return directory.resolve(name + MappedSegment.SEGMENT_SUFFIX);
+    }
+
+    private void writeManifest(List<MappedSegment> segments, LocalDateTime checkpoint) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("generation", String.valueOf(nextGeneration));
+        properties.setProperty("checkpoint", checkpoint == null ? "" : checkpoint.toString());
+        properties.setProperty("segments", String.join(",", segments.stream().map(MappedSegment::name).toList()));
+
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteUnreferencedFiles(Set<String> live) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String name = fileName.substring(0, fileName.indexOf('.') < 0 ? fileName.length() : fileName.indexOf('.'));
+                if (!live.contains(name) || fileName.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("검색 세그먼트 파일을 지우지 못했습니다. file: {}", file, e);
+        }
+    }
+}
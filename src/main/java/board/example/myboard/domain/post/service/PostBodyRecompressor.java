@@ -0,0 +1,88 @@
+package board.example.myboard.domain.post.service;
+
+import board.example.myboard.global.jpa.TextCompression;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 압축하지 않고 저장된 본문(압축 도입 전, THRESHOLD 미만이던 본문 등)을 백그라운드에서 압축
+ * - id 순서로 batch-size 개씩 읽어 크기가 THRESHOLD 이상이고 아직 압축되지 않은 행만 다시 저장
+ * - 새로 저장되는 본문은 CompressedTextConverter 가 압축하므로 끝까지 한 번 훑으면 멈춘다
+ * - 읽은 뒤 사용자가 본문을 수정했으면 덮어쓰지 않는다
+ *   (읽을 때의 수정 시각/크기와 같을 때만 update, 수정하면 PostBody 의 lastModifiedDate 가 바뀐다)
+ * */
+@Slf4j
+@Component
+public class PostBodyRecompressor {
+
+    private static final String SELECT_SQL = "select post_body_id, content, last_modified_date from post_body " +
+            "where post_body_id > ? and octet_length(content) >= ? order by post_body_id limit ?";
+    private static final String UPDATE_SQL = "update post_body set content = ? where post_body_id = ? " +
+            "and last_modified_date is not distinct from ? and octet_length(content) = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private long lastId;
+    private boolean finished;
+    private long compressed;
+
+    public PostBodyRecompressor(JdbcTemplate jdbcTemplate,
+                                @Value("${post.body-compression.recompress.enabled:true}") boolean enabled,
+                                @Value("${post.body-compression.recompress.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${post.body-compression.recompress.interval-ms:10000}")
+    public synchronized void recompressNextBatch() {
+        if (!enabled || finished) {
+            return;
+        }
+
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Row(rs.getLong(1), rs.getBytes(2), rs.getTimestamp(3)),
+                lastId, TextCompression.THRESHOLD_BYTES, batchSize);
+
+        List<Object[]> updates = new ArrayList<>();
+        for (Row row : rows) {
+            if (TextCompression.isCompressed(row.content())) {
+                continue;
+            }
+            byte[] encoded = TextCompression.encode(TextCompression.decode(row.content()));
+            if (TextCompression.isCompressed(encoded)) {
+                updates.add(new Object[]{encoded, row.id(), row.lastModifiedDate(), row.content().length});
+            }
+        }
+
+        if (!updates.isEmpty()) {
+            for (int updated : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                //수정된 행(0)은 건너뛴다, 드라이버가 건수를 모르면(SUCCESS_NO_INFO) 반영된 것으로 센다//
+                if (updated != 0) {
+                    compressed++;
+                }
+            }
+        }
+
+        if (rows.size() < batchSize) {
+            finished = true;
+            log.info("게시글 본문 압축을 마쳤습니다. compressed: {}", compressed);
+            return;
+        }
+        lastId = rows.get(rows.size() - 1).id();
+    }
+
+    private record Row(long id, byte[] content, Timestamp lastModifiedDate) {
+    }
+}
@@ -0,0 +1,107 @@
+package board.example.myboard.domain.post.service;
+
+import board.example.myboard.domain.comment.service.Comment;
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.post.dto.LegacyCommentDto;
+import board.example.myboard.domain.post.dto.LegacyPostDto;
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+/*
+ * 이전 게시판 데이터 일괄 등록
+ * - id 는 시퀀스에서 미리 할당받으므로 insert 가 hibernate.jdbc.batch_size 단위로 묶여 나간다
+ * - chunk-size 개의 게시글마다 flush/clear 후 커밋 (영속성 컨텍스트가 커지지 않도록)
+ * - 작성자는 프록시로만 참조해서 회원을 조회하지 않는다
+ * - 댓글 수는 persist 전에 세어 넣는다 (insert 뒤에 바꾸면 게시글마다 update 가 한 번 더 나간다)
+ * - chunk 가 실패하면 그 chunk 만 롤백되고 예외를 던진다 (앞의 chunk 는 이미 커밋됨)
+ * */
+@Slf4j
+@Service
+public class PostBulkImportService {
+
+    private final EntityManager em;
+    private final PostSearchIndexer postSearchIndexer;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public PostBulkImportService(EntityManager em, PostSearchIndexer postSearchIndexer,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${post.bulk-import.chunk-size:50}") int chunkSize) {
+        this.em = em;
+        this.postSearchIndexer = postSearchIndexer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    //등록한 게시글 수 반환//
+    public int importPosts(List<LegacyPostDto> posts) {
+        for (int from = 0; from < posts.size(); from += chunkSize) {
+            List<LegacyPostDto> chunk = posts.subList(from, Math.min(from + chunkSize, posts.size()));
+            transactionTemplate.executeWithoutResult(status -> importChunk(chunk));
+        }
+
+        log.info("게시글 일괄 등록을 마쳤습니다. posts: {}", posts.size());
+        return posts.size();
+    }
+
+    private void importChunk(List<LegacyPostDto> chunk) {
+        for (LegacyPostDto legacy : chunk) {
+            Post post = Post.builder()
+                    .writer(writerOf(legacy.writerId()))
+                    .title(legacy.title())
+                    .content(legacy.content())
+                    .filePath(legacy.filePath())
+                    .build();
+            post.addCommentCount(countComments(legacy.comments()));
+            em.persist(post);
+
+            persistComments(post, null, legacy.comments());
+            postSearchIndexer.index(post);
+        }
+
+        em.flush();
+        em.clear();
+    }
+
+    private static int countComments(List<LegacyCommentDto> legacyComments) {
+        if (legacyComments == null) {
+            return 0;
+        }
+
+        int count = 0;
+        for (LegacyCommentDto legacy : legacyComments) {
+            count += 1 + countComments(legacy.replies());
+        }
+        return count;
+    }
+
+    private void persistComments(Post post, Comment parent, List<LegacyCommentDto> legacyComments) {
+        if (legacyComments == null) {
+            return;
+        }
+
+        for (LegacyCommentDto legacy : legacyComments) {
+            Comment comment = Comment.builder()
+                    .writer(writerOf(legacy.writerId()))
+                    .post(post)
+                    .parent(parent)
+                    .content(legacy.content())
+                    .build();
+            em.persist(comment);
+
+            persistComments(post, comment, legacy.replies());
+        }
+    }
+
+    private Member writerOf(Long writerId) {
+        return writerId == null ? null : em.getReference(Member.class, writerId);
+    }
+}
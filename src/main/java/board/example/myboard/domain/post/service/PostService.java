@@ -0,0 +1,37 @@
+package board.example.myboard.domain.post.service;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import board.example.myboard.domain.post.dto.PostPageDto;
+import board.example.myboard.domain.post.dto.PostSearchPageDto;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface PostService {
+
+    void save(Post post);
+
+    Post findById(Long id) throws Exception;
+
+    //본문을 엔티티에 올리지 않고 out 으로 바로 복사//
+    void writeContent(Long id, Writer out) throws Exception;
+
+    void update(Long id, String title, String content) throws Exception;
+
+    void delete(Long id) throws Exception;
+
+    //첨부파일을 저장소에 스트림으로 저장하고 filePath 를 내용 hash 로 바꾼다 (작성자 본인만)//
+    StoredAttachment attachFile(Long id, InputStream in) throws Exception;
+
+    //게시글이 없거나 저장소에 파일이 없으면 empty//
+    Optional<StoredAttachment> findAttachment(Long id);
+
+    //lastCreatedDate, lastId 가 null 이면 첫 페이지//
+    PostPageDto findPage(LocalDateTime lastCreatedDate, Long lastId, int size);
+
+    //DB 를 거치지 않고 검색 색인에서 점수 순으로 조회 (page 는 0부터)//
+    PostSearchPageDto search(String keyword, int page, int size);
+}
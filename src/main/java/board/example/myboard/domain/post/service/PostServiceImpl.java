@@ -0,0 +1,203 @@
+package board.example.myboard.domain.post.service;
+
+import board.example.myboard.domain.comment.repository.CommentRepository;
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.attachment.AttachmentStore;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import board.example.myboard.domain.post.attachment.ThumbnailGenerator;
+import board.example.myboard.domain.post.dto.PostCounterDto;
+import board.example.myboard.domain.post.dto.PostPageDto;
+import board.example.myboard.domain.post.dto.PostSearchHitDto;
+import board.example.myboard.domain.post.dto.PostSearchPageDto;
+import board.example.myboard.domain.post.dto.PostSummaryDto;
+import board.example.myboard.domain.post.repository.PostContentStreamer;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import board.example.myboard.domain.post.search.SearchResult;
+import board.example.myboard.domain.service.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PostServiceImpl implements PostService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostContentStreamer postContentStreamer;
+    private final PostViewCountBuffer postViewCountBuffer;
+    private final PostSearchIndexer postSearchIndexer;
+    private final AttachmentStore attachmentStore;
+    private final ThumbnailGenerator thumbnailGenerator;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void save(Post post) {
+        postRepository.save(post);
+        postSearchIndexer.index(post);
+    }
+
+    //2차 캐시에서 읽는다 (작성자도 지연 로딩 시 member 캐시에서)//
+    @Override
+    @Transactional(readOnly = true)
+    public Post findById(Long id) throws Exception {
+        Post post = postRepository.findById(id).orElseThrow(() -> new Exception("게시글이 없습니다."));
+        postViewCountBuffer.increment(id);
+        return post;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeContent(Long id, Writer out) throws Exception {
+        if (!postContentStreamer.copyTo(id, out)) {
+            throw new Exception("게시글이 없습니다.");
+        }
+    }
+
+    @Override
+    public void update(Long id, String title, String content) throws Exception {
+        Post post = postRepository.findById(id).orElseThrow(() -> new Exception("게시글이 없습니다."));
+
+        if (title != null) {
+            post.updateTitle(title);
+        }
+        if (content != null) {
+            post.updateContent(content);
+        }
+        postSearchIndexer.index(post);
+    }
+
+    /*
+     * 댓글을 엔티티로 읽지 않고 일괄 삭제 (MemberWithdrawalProcessor 와 같은 순서)
+     * - 대댓글 -> 댓글 (parent_id FK)
+     * - 게시글 -> 본문 (FK 가 post -> post_body 방향)
+     * */
+    @Override
+    public void delete(Long id) throws Exception {
+        Long bodyId = postRepository.findBodyIdById(id).orElseThrow(() -> new Exception("게시글이 없습니다."));
+
+        commentRepository.deleteRepliesByPostId(id);
+        commentRepository.deleteAllByPostId(id);
+        postRepository.deletePostById(id);
+        postRepository.deleteBodiesByIds(List.of(bodyId));
+        postSearchIndexer.remove(id);
+    }
+
+    /*
+     * 파일 복사는 트랜잭션 밖에서 (큰 파일을 받는 동안 DB 커넥션을 잡지 않는다)
+     * 저장한 뒤 짧은 트랜잭션으로 filePath 만 바꾼다
+     * 게시글이 그 사이 지워져 남는 파일은 같은 내용이 다시 올라오면 재사용된다
+     * 작성자 본인만 올릴 수 있다 (파일을 받기 전에 확인)
+     * */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StoredAttachment attachFile(Long id, InputStream in) throws Exception {
+        if (!postRepository.existsById(id)) {
+            throw new Exception("게시글이 없습니다.");
+        }
+        String loginUsername = SecurityUtil.getLoginUsername();
+        if (postRepository.findWriterUsernameById(id).filter(loginUsername::equals).isEmpty()) {
+            throw new Exception("작성자만 첨부파일을 올릴 수 있습니다.");
+        }
+
+        StoredAttachment attachment = attachmentStore.store(in);
+
+        Boolean updated = new TransactionTemplate(transactionManager).execute(status ->
+                postRepository.findById(id).map(post -> {
+                    post.updateFilePath(attachment.hash());
+                    return true;
+                }).orElse(false));
+
+        if (!Boolean.TRUE.equals(updated)) {
+            throw new Exception("게시글이 없습니다.");
+        }
+        thumbnailGenerator.generateAsync(attachment);
+        return attachment;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredAttachment> findAttachment(Long id) {
+        return postRepository.findFilePathById(id).flatMap(attachmentStore::find);
+    }
+
+    //한 건 더 읽어서 다음 페이지가 있는지 판단//
+    @Override
+    @Transactional(readOnly = true)
+    public PostPageDto findPage(LocalDateTime lastCreatedDate, Long lastId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<PostSummaryDto> posts = (lastCreatedDate == null || lastId == null)
+                ? postRepository.findFirstSummaries(limit)
+                : postRepository.findSummariesBefore(lastCreatedDate, lastId, limit);
+
+        boolean hasNext = posts.size() > pageSize;
+        if (hasNext) {
+            posts = posts.subList(0, pageSize);
+        }
+
+        Map<Long, PostCounterDto> counters = findCounters(posts);
+        posts = posts.stream()
+                .map(post -> {
+                    PostCounterDto counter = counters.get(post.id());
+                    return post.withThumbnailUrl(thumbnailUrlOf(post.thumbnailUrl()))
+                            .withCounts(counter == null ? 0L : counter.commentCount(),
+                                    counter == null ? 0L : counter.viewCount());
+                })
+                .toList();
+
+        PostSummaryDto last = posts.isEmpty() ? null : posts.get(posts.size() - 1);
+        return new PostPageDto(posts, hasNext,
+                last == null ? null : last.createdDate(),
+                last == null ? null : last.id());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public PostSearchPageDto search(String keyword, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+
+        SearchResult result = postSearchIndexer.search(keyword, pageNumber * pageSize, pageSize);
+
+        List<PostSearchHitDto> hits = result.hits().stream()
+                .map(hit -> new PostSearchHitDto(hit.postId(), hit.title(), hit.score()))
+                .toList();
+        return new PostSearchPageDto(hits, result.total(), pageNumber, pageSize);
+    }
+
+    //카운터는 목록 쿼리 캐시에 넣지 않으므로 페이지의 id 로 따로 읽는다 (그 사이 삭제된 게시글은 0)//
+    private Map<Long, PostCounterDto> findCounters(List<PostSummaryDto> posts) {
+        if (posts.isEmpty()) {
+            return Map.of();
+        }
+        return postRepository.findCountersByIdIn(posts.stream().map(PostSummaryDto::id).toList()).stream()
+                .collect(Collectors.toMap(PostCounterDto::id, Function.identity()));
+    }
+
+    //filePath -> 목록용 썸네일 주소, 이미지가 아니거나 아직 만들지 못했으면 null (원본은 목록에 내보내지 않는다)//
+    private String thumbnailUrlOf(String filePath) {
+        if (!AttachmentStore.isHash(filePath) || !thumbnailGenerator.isGenerated(filePath)) {
+            return null;
+        }
+        return "/attachment/" + filePath + "/thumbnail/" + thumbnailGenerator.listWidth();
+    }
+}
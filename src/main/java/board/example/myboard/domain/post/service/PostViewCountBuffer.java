@@ -0,0 +1,80 @@
+package board.example.myboard.domain.post.service;
+
+import board.example.myboard.domain.post.repository.PostCounterRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 게시글 조회수 write-behind 버퍼
+ * - 조회할 때는 게시글 id 별 LongAdder 만 증가 (UPDATE X)
+ * - 주기적으로 모인 증가분을 게시글당 한 줄로 묶어 JDBC batch 로 반영 (PostCounterRepository, 2차 캐시도 비운다)
+ * - 버퍼를 교체한 뒤 바로 비우지 않고 다음 주기에 비워서, 교체 직전에 버퍼를 잡은 스레드의 증가분도 놓치지 않는다
+ * - 반영에 실패하면 (트랜잭션 전체가 롤백) 꺼낸 증가분을 버퍼에 되돌려 다음 주기에 다시 반영
+ * */
+@Slf4j
+@Component
+public class PostViewCountBuffer {
+
+    private final PostCounterRepository postCounterRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Map<Long, LongAdder>> current = new AtomicReference<>(new ConcurrentHashMap<>());
+    private Map<Long, LongAdder> retired = new ConcurrentHashMap<>();
+
+    public PostViewCountBuffer(PostCounterRepository postCounterRepository, PlatformTransactionManager transactionManager) {
+        this.postCounterRepository = postCounterRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void increment(Long postId) {
+        add(postId, 1);
+    }
+
+    @Scheduled(fixedDelayString = "${post.view-count.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        Map<Long, LongAdder> drained = retired;
+        retired = current.getAndSet(new ConcurrentHashMap<>());
+        write(drained);
+    }
+
+    @PreDestroy
+    public synchronized void flushAll() {
+        Map<Long, LongAdder> drained = retired;
+        retired = current.getAndSet(new ConcurrentHashMap<>());
+        write(drained);
+        write(retired);
+        retired = new ConcurrentHashMap<>();
+    }
+
+    private void write(Map<Long, LongAdder> deltas) {
+        Map<Long, Long> sums = new HashMap<>(deltas.size() * 2);
+        deltas.forEach((postId, delta) -> sums.put(postId, delta.sum()));
+
+        if (sums.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> postCounterRepository.addViewCounts(sums));
+        } catch (RuntimeException e) {
+            sums.forEach(this::add);
+            log.warn("게시글 조회수를 반영하지 못했습니다. 다음 주기에 다시 반영합니다. posts: {}", sums.size(), e);
+            return;
+        }
+        log.debug("게시글 조회수를 반영했습니다. posts: {}", sums.size());
+    }
+
+    private void add(Long postId, long delta) {
+        current.get().computeIfAbsent(postId, id -> new LongAdder()).add(delta);
+    }
+}
@@ -0,0 +1,38 @@
+package board.example.myboard.domain.refreshtoken;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+//토큰 원문 대신 SHA-256 해시(64자)를 기본키로 저장 -> 조회는 PK 인덱스 한 번//
+@Table(name = "REFRESH_TOKEN", indexes = @Index(name = "idx_refresh_token_username", columnList = "username"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class RefreshToken {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 30)
+    private String username;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Builder
+    public RefreshToken(String tokenHash, String username, LocalDateTime expiresAt) {
+        this.tokenHash = tokenHash;
+        this.username = username;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
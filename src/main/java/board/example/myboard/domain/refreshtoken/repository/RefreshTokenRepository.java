@@ -0,0 +1,20 @@
+package board.example.myboard.domain.refreshtoken.repository;
+
+import board.example.myboard.domain.refreshtoken.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from RefreshToken r where r.username = :username")
+    int deleteAllByUsername(@Param("username") String username);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from RefreshToken r where r.expiresAt <= :now")
+    int deleteAllExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,121 @@
+package board.example.myboard.domain.refreshtoken.store;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 단일 노드용 메모리 저장소
+ * - 토큰 해시로 나눈 stripe 마다 락을 따로 잡는다
+ * - username -> 토큰 해시 인덱스로 회원 단위 삭제
+ *   저장/회원 단위 삭제는 인덱스의 compute 안에서 stripe 까지 바꾼다 (username 단위로 원자적,
+ *   로그아웃/탈퇴와 동시에 저장된 토큰이 인덱스에서 빠진 채 남지 않게)
+ * - 만료된 토큰은 RefreshTokenSweeper 가 주기적으로 지운다
+ * */
+@Component
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private static final int STRIPE_COUNT = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+
+    private final ConcurrentHashMap<String, Set<String>> tokenHashesByUsername = new ConcurrentHashMap<>();
+
+    public InMemoryRefreshTokenStore() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    public void save(String tokenHash, String username, LocalDateTime expiresAt) {
+        Stripe stripe = stripeFor(tokenHash);
+
+        tokenHashesByUsername.compute(username, (key, tokenHashes) -> {
+            synchronized (stripe) {
+                stripe.tokens.put(tokenHash, new StoredToken(username, expiresAt));
+            }
+            Set<String> result = tokenHashes == null ? new HashSet<>() : tokenHashes;
+            result.add(tokenHash);
+            return result;
+        });
+    }
+
+    @Override
+    public Optional<String> findUsername(String tokenHash, LocalDateTime now) {
+        Stripe stripe = stripeFor(tokenHash);
+        synchronized (stripe) {
+            return Optional.ofNullable(stripe.tokens.get(tokenHash))
+                    .filter(token -> token.expiresAt().isAfter(now))
+                    .map(StoredToken::username);
+        }
+    }
+
+    @Override
+    public void deleteAllByUsername(String username) {
+        tokenHashesByUsername.computeIfPresent(username, (key, tokenHashes) -> {
+            for (String tokenHash : tokenHashes) {
+                Stripe stripe = stripeFor(tokenHash);
+                synchronized (stripe) {
+                    stripe.tokens.remove(tokenHash);
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        int removed = 0;
+
+        for (Stripe stripe : stripes) {
+            List<StoredToken> expiredTokens = new ArrayList<>();
+            List<String> expiredHashes = new ArrayList<>();
+
+            synchronized (stripe) {
+                Iterator<Map.Entry<String, StoredToken>> iterator = stripe.tokens.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<String, StoredToken> entry = iterator.next();
+                    if (!entry.getValue().expiresAt().isAfter(now)) {
+                        expiredHashes.add(entry.getKey());
+                        expiredTokens.add(entry.getValue());
+                        iterator.remove();
+                    }
+                }
+            }
+
+            for (int i = 0; i < expiredHashes.size(); i++) {
+                String tokenHash = expiredHashes.get(i);
+                tokenHashesByUsername.computeIfPresent(expiredTokens.get(i).username(), (key, tokenHashes) -> {
+                    tokenHashes.remove(tokenHash);
+                    return tokenHashes.isEmpty() ? null : tokenHashes;
+                });
+            }
+            removed += expiredHashes.size();
+        }
+
+        return removed;
+    }
+
+    private Stripe stripeFor(String tokenHash) {
+        return stripes[(tokenHash.hashCode() & Integer.MAX_VALUE) % STRIPE_COUNT];
+    }
+
+    private record StoredToken(String username, LocalDateTime expiresAt) {
+    }
+
+    private static class Stripe {
+        private final Map<String, StoredToken> tokens = new HashMap<>();
+    }
+}
@@ -0,0 +1,55 @@
+package board.example.myboard.domain.refreshtoken.store;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+//엔티티를 거치지 않고 REFRESH_TOKEN 테이블에 단일 SQL 로 접근한다//
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "jdbc")
+public class JdbcRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String UPSERT_SQL =
+            "merge into refresh_token (token_hash, username, expires_at) key (token_hash) values (?, ?, ?)";
+
+    private static final String FIND_USERNAME_SQL =
+            "select username from refresh_token where token_hash = ? and expires_at > ?";
+
+    private static final String DELETE_BY_USERNAME_SQL =
+            "delete from refresh_token where username = ?";
+
+    private static final String DELETE_EXPIRED_SQL =
+            "delete from refresh_token where expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(String tokenHash, String username, LocalDateTime expiresAt) {
+        jdbcTemplate.update(UPSERT_SQL, tokenHash, username, Timestamp.valueOf(expiresAt));
+    }
+
+    @Override
+    public Optional<String> findUsername(String tokenHash, LocalDateTime now) {
+        return jdbcTemplate.query(FIND_USERNAME_SQL,
+                        (rs, rowNum) -> rs.getString("username"),
+                        tokenHash, Timestamp.valueOf(now))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public void deleteAllByUsername(String username) {
+        jdbcTemplate.update(DELETE_BY_USERNAME_SQL, username);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(now));
+    }
+}
@@ -0,0 +1,47 @@
+package board.example.myboard.domain.refreshtoken.store;
+
+import board.example.myboard.domain.refreshtoken.RefreshToken;
+import board.example.myboard.domain.refreshtoken.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@Transactional
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.refresh.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Override
+    public void save(String tokenHash, String username, LocalDateTime expiresAt) {
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .username(username)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findUsername(String tokenHash, LocalDateTime now) {
+        return refreshTokenRepository.findById(tokenHash)
+                .filter(token -> !token.isExpired(now))
+                .map(RefreshToken::getUsername);
+    }
+
+    @Override
+    public void deleteAllByUsername(String username) {
+        refreshTokenRepository.deleteAllByUsername(username);
+    }
+
+    @Override
+    public int deleteExpired(LocalDateTime now) {
+        return refreshTokenRepository.deleteAllExpired(now);
+    }
+}
@@ -0,0 +1,20 @@
+package board.example.myboard.domain.refreshtoken.store;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/*
+ * RefreshToken 저장소
+ * jwt.refresh.store 값(jpa, jdbc, memory)에 따라 구현체를 고른다.
+ * 모든 메서드는 토큰 원문이 아닌 해시를 받는다.
+ * */
+public interface RefreshTokenStore {
+
+    void save(String tokenHash, String username, LocalDateTime expiresAt);
+
+    Optional<String> findUsername(String tokenHash, LocalDateTime now);
+
+    void deleteAllByUsername(String username);
+
+    int deleteExpired(LocalDateTime now);
+}
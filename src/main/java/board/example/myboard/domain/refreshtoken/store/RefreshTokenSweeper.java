@@ -0,0 +1,25 @@
+package board.example.myboard.domain.refreshtoken.store;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+//만료된 RefreshToken 을 주기적으로 정리//
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RefreshTokenSweeper {
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    @Scheduled(fixedDelayString = "${jwt.refresh.sweep-interval-ms:60000}")
+    public void sweep() {
+        int removed = refreshTokenStore.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            log.info("만료된 RefreshToken 을 삭제했습니다. count: {}", removed);
+        }
+    }
+}
@@ -1,17 +1,29 @@
 package board.example.myboard.domain.repository;
 
 import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.dto.MemberPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long> {
-
-    Optional<Member> findByUsername(String username);
+public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
     boolean existsByUsername(String username);
 
-    Optional<Member> findByRefreshToken(String refreshToken);
+    @Query("select new board.example.myboard.domain.member.dto.MemberPrincipal(m.id, m.username, m.role, m.tokenVersion) " +
+            "from Member m where m.username = :username and m.withdrawn = false")
+    Optional<MemberPrincipal> findPrincipalByUsername(@Param("username") String username);
+
+    //stateless principal 모드의 토큰 버전 확인 (탈퇴 처리 중이면 없음)//
+    @Query("select m.tokenVersion from Member m where m.id = :id and m.withdrawn = false")
+    Optional<Integer> findTokenVersionById(@Param("id") Long id);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Member m where m.id = :id")
+    int deleteMemberById(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package board.example.myboard.domain.repository;
+
+import board.example.myboard.domain.member.Member;
+
+import java.util.Optional;
+
+public interface MemberRepositoryCustom {
+
+    //username(자연키) 으로 조회: 2차 캐시에 있으면 DB 를 거치지 않는다//
+    Optional<Member> findByUsername(String username);
+}
@@ -0,0 +1,26 @@
+package board.example.myboard.domain.repository;
+
+import board.example.myboard.domain.member.Member;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+import java.util.Optional;
+
+/*
+ * 쿼리 메서드(findByUsername) 는 JPQL 이라 2차 캐시를 쓰지 않으므로 자연키 조회로 대신한다
+ * username -> id 는 member-natural-id region, id -> 회원은 member region 에서 찾는다
+ * */
+@RequiredArgsConstructor
+public class MemberRepositoryCustomImpl implements MemberRepositoryCustom {
+
+    private final EntityManager em;
+
+    @Override
+    public Optional<Member> findByUsername(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return em.unwrap(Session.class).bySimpleNaturalId(Member.class).loadOptional(username);
+    }
+}
@@ -6,24 +6,38 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class LoginService implements UserDetailsService {
+public class LoginService implements UserDetailsService, UserDetailsPasswordService {
 
    private final MemberRepository memberRepository;
 
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Member member = memberRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("아이디가 없습니다."));
+        Member member = memberRepository.findByUsername(username)
+                .filter(found -> !found.isWithdrawn())
+                .orElseThrow(() -> new UsernameNotFoundException("아이디가 없습니다."));
 
         return User.builder().username(member.getUsername())
                 .password(member.getPassword())
                 .roles(member.getRole().name())
                 .build();
     }
+
+    //저장된 해시의 strength 가 현재 설정보다 낮으면 로그인 성공 시 DaoAuthenticationProvider 가 새 해시로 호출//
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        memberRepository.findByUsername(user.getUsername())
+                .ifPresent(member -> member.upgradePassword(newPassword));
+
+        return User.withUserDetails(user).password(newPassword).build();
+    }
 }
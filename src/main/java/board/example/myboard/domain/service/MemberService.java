@@ -1,5 +1,6 @@
 package board.example.myboard.domain.service;
 
+import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.member.dto.MemberInfoDto;
 import board.example.myboard.domain.member.dto.MemberSignUpDto;
 import board.example.myboard.domain.member.dto.MemberUpdateDto;
@@ -9,6 +10,7 @@ public interface MemberService {
     /* 회원가입
     * 정보수정
     * 회원탈퇴
+    * 권한변경
     * 정보조회
     * */
 
@@ -20,6 +22,8 @@ public interface MemberService {
 
     void withdraw(String checkPassword) throws Exception;
 
+    void updateRole(Long id, Role role) throws Exception;
+
     MemberInfoDto getInfo(Long id) throws Exception;
 
     MemberInfoDto getMyInfo() throws Exception;
@@ -1,12 +1,17 @@
 package board.example.myboard.domain.service;
 
 import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.member.dto.MemberInfoDto;
 import board.example.myboard.domain.member.dto.MemberSignUpDto;
 import board.example.myboard.domain.member.dto.MemberUpdateDto;
+import board.example.myboard.domain.member.event.MemberWithdrawnEvent;
+import board.example.myboard.domain.refreshtoken.store.RefreshTokenStore;
 import board.example.myboard.domain.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Required;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.expression.ExpressionException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,7 +24,15 @@ import javax.transaction.Transactional;
 public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
+    private final RefreshTokenStore refreshTokenStore;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final MemberWithdrawalProcessor memberWithdrawalProcessor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${member.withdraw.async:false}")
+    private boolean asyncWithdraw;
 
 
     @Override
@@ -42,6 +55,8 @@ public class MemberServiceImpl implements MemberService {
         memberUpdateDto.age().ifPresent(member::updateAge);
         memberUpdateDto.name().ifPresent(member::updateName);
         memberUpdateDto.nickName().ifPresent(member::updateNickname);
+
+        principalCache.invalidate(member.getUsername());
     }
 
     @Override
@@ -53,6 +68,12 @@ public class MemberServiceImpl implements MemberService {
         }
 
         member.updatePassword(passwordEncoder, toBePassword);
+        member.increaseTokenVersion();
+        //비밀번호를 바꾸면 탈퇴와 같이 RefreshToken 도 모두 지운다 (탈취된 토큰으로 AccessToken 을 다시 받지 못하게)//
+        refreshTokenStore.deleteAllByUsername(member.getUsername());
+
+        principalCache.invalidate(member.getUsername());
+        tokenVersionRegistry.invalidate(member.getId());
     }
 
     @Override
@@ -63,8 +84,30 @@ public class MemberServiceImpl implements MemberService {
                throw new Exception("비밀번호가 일치하지 않습니다");
            }
 
-           memberRepository.delete(member);
+           refreshTokenStore.deleteAllByUsername(member.getUsername());
+
+           //게시글, 댓글은 엔티티로 읽지 않고 일괄 삭제 (async 면 탈퇴 표시만 하고 커밋 후 삭제)//
+           if(asyncWithdraw) {
+               member.markWithdrawn();
+               eventPublisher.publishEvent(new MemberWithdrawnEvent(member.getId()));
+           } else {
+               memberWithdrawalProcessor.purge(member.getId());
+           }
+
+           principalCache.invalidate(member.getUsername());
+           tokenVersionRegistry.invalidate(member.getId());
+
+    }
+
+    //권한이 바뀌면 토큰 버전이 올라가 이전 AccessToken 은 거부된다//
+    @Override
+    public void updateRole(Long id, Role role) throws Exception {
+        Member member = memberRepository.findById(id).orElseThrow(() -> new Exception("회원이 존재하지 않습니다"));
+
+        member.updateRole(role);
 
+        principalCache.invalidate(member.getUsername());
+        tokenVersionRegistry.invalidate(member.getId());
     }
 
     @Override
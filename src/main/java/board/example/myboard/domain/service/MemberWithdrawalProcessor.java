@@ -0,0 +1,60 @@
+package board.example.myboard.domain.service;
+
+import board.example.myboard.domain.comment.repository.CommentRepository;
+import board.example.myboard.domain.member.event.MemberWithdrawnEvent;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import board.example.myboard.domain.repository.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/*
+ * 회원 탈퇴 시 회원이 작성한 게시글/댓글을 엔티티 로딩 없이 일괄 삭제
+ * FK 순서대로: 대댓글 -> 댓글(회원 게시글의 댓글 + 회원의 댓글) -> 게시글 -> 게시글 본문 -> 회원
+ * */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberWithdrawalProcessor {
+
+    private final CommentRepository commentRepository;
+    private final PostRepository postRepository;
+    private final MemberRepository memberRepository;
+    private final PostSearchIndexer postSearchIndexer;
+
+    @Transactional
+    public void purge(Long memberId) {
+        List<Long> commentedPostIds = commentRepository.findCommentedPostIdsByWriterId(memberId);
+        postSearchIndexer.removeAll(postRepository.findIdsByWriterId(memberId));
+
+        int replies = commentRepository.deleteRepliesRelatedToMember(memberId);
+        int comments = commentRepository.deleteAllRelatedToMember(memberId);
+        List<Long> bodyIds = postRepository.findBodyIdsByWriterId(memberId);
+        int posts = postRepository.deleteAllByWriterId(memberId);
+        if (!bodyIds.isEmpty()) {
+            postRepository.deleteBodiesByIds(bodyIds);
+        }
+        if (!commentedPostIds.isEmpty()) {
+            postRepository.recountComments(commentedPostIds);
+        }
+        memberRepository.deleteMemberById(memberId);
+
+        log.info("탈퇴한 회원의 데이터를 삭제했습니다. memberId: {}, posts: {}, comments: {}",
+                memberId, posts, replies + comments);
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onMemberWithdrawn(MemberWithdrawnEvent event) {
+        purge(event.memberId());
+    }
+}
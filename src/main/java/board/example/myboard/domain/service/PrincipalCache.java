@@ -0,0 +1,89 @@
+package board.example.myboard.domain.service;
+
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+import board.example.myboard.domain.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/*
+ * username -> MemberPrincipal 캐시
+ * 인증된 요청마다 회원을 DB 에서 다시 읽지 않도록 TTL 동안 보관하고,
+ * 회원 정보가 바뀌면 invalidate 로 즉시 제거한다.
+ * - 접근 순서 LinkedHashMap 으로 크기를 넘으면 가장 오래 안 쓴 회원부터 제거 (LRU)
+ * - DB 조회는 락 밖에서 한다
+ * */
+@Component
+public class PrincipalCache {
+
+    private final MemberRepository memberRepository;
+    private final long ttlMillis;
+
+    private final Map<String, CachedPrincipal> cache;
+
+    public PrincipalCache(MemberRepository memberRepository,
+                          @Value("${jwt.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this.memberRepository = memberRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public Optional<MemberPrincipal> get(String username) {
+        long now = System.currentTimeMillis();
+
+        CachedPrincipal cached;
+        synchronized (cache) {
+            cached = cache.get(username);
+        }
+        if (cached != null && cached.expiresAt() > now) {
+            return Optional.of(cached.principal());
+        }
+
+        Optional<MemberPrincipal> principal = memberRepository.findPrincipalByUsername(username);
+        principal.ifPresentOrElse(
+                found -> put(username, found, now),
+                () -> remove(username)
+        );
+        return principal;
+    }
+
+    //트랜잭션 안에서 호출되면 커밋 이후에도 한 번 더 지워서, 커밋 전에 다시 올라간 예전 값을 남기지 않는다//
+    public void invalidate(String username) {
+        remove(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(username);
+                }
+            });
+        }
+    }
+
+    private void put(String username, MemberPrincipal principal, long now) {
+        synchronized (cache) {
+            cache.put(username, new CachedPrincipal(principal, now + ttlMillis));
+        }
+    }
+
+    private void remove(String username) {
+        synchronized (cache) {
+            cache.remove(username);
+        }
+    }
+
+    private record CachedPrincipal(MemberPrincipal principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package board.example.myboard.domain.service;
+
+import board.example.myboard.domain.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * memberId -> 현재 토큰 버전 캐시 (stateless principal 모드)
+ * - 기준은 노드끼리 공유하는 member.token_version 이다 (비밀번호 변경/권한 변경/탈퇴 때 증가)
+ *   이 버전보다 낮은 AccessToken 은 거부하고, 탈퇴했거나 없는 회원의 토큰도 거부한다
+ * - 요청마다 DB 를 보지 않도록 짧은 TTL 동안 보관한다
+ *   바꾼 노드는 invalidate 로 바로 반영하고, 다른 노드는 최대 TTL 만큼 늦게 반영된다
+ * - memberId 로 구분하므로 같은 username 으로 다시 가입한 회원은 영향을 받지 않는다
+ * */
+@Component
+public class TokenVersionRegistry {
+
+    //탈퇴했거나 없는 회원: 어떤 버전도 허용하지 않는다//
+    private static final int REVOKED = Integer.MAX_VALUE;
+
+    private final MemberRepository memberRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final ConcurrentHashMap<Long, CachedVersion> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(MemberRepository memberRepository,
+                                @Value("${jwt.stateless-principal.version-ttl-seconds:5}") long ttlSeconds,
+                                @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this.memberRepository = memberRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    public boolean isCurrent(Long memberId, int tokenVersion) {
+        return tokenVersion >= currentVersion(memberId);
+    }
+
+    //트랜잭션 안에서 호출되면 커밋 이후에도 한 번 더 지워서, 커밋 전에 다시 올라간 예전 버전을 남기지 않는다//
+    public void invalidate(Long memberId) {
+        versions.remove(memberId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    versions.remove(memberId);
+                }
+            });
+        }
+    }
+
+    private int currentVersion(Long memberId) {
+        long now = System.currentTimeMillis();
+
+        CachedVersion cached = versions.get(memberId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.version();
+        }
+
+        int version = memberRepository.findTokenVersionById(memberId).orElse(REVOKED);
+        put(memberId, version, now);
+        return version;
+    }
+
+    private void put(Long memberId, int version, long now) {
+        if (versions.size() >= maxSize) {
+            versions.values().removeIf(cached -> cached.expiresAt() <= now);
+        }
+        if (versions.size() < maxSize) {
+            versions.put(memberId, new CachedVersion(version, now + ttlMillis));
+        }
+    }
+
+    private record CachedVersion(int version, long expiresAt) {
+    }
+}
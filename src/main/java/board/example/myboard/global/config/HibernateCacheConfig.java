@@ -0,0 +1,74 @@
+package board.example.myboard.global.config;
+
+import org.ehcache.config.CacheConfiguration;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.UUID;
+
+/*
+ * Hibernate 2차 캐시 (JCache + Ehcache, heap 에 개수 제한)
+ * - region 마다 최대 개수를 정해 두고 Hibernate 에 CacheManager 를 직접 넘긴다
+ * - 엔티티: member, post / 자연키(username): member-natural-id / 목록 쿼리: post-list
+ * - update-timestamps region 은 쿼리 캐시가 무효화를 판단하는 곳이라 만료시키지 않는다
+ * - TTL 은 JDBC 처럼 Hibernate 를 거치지 않은 변경을 놓쳤을 때를 대비한 상한
+ * */
+@Configuration
+public class HibernateCacheConfig {
+
+    public static final String MEMBER_REGION = "member";
+    public static final String MEMBER_NATURAL_ID_REGION = "member-natural-id";
+    public static final String POST_REGION = "post";
+    public static final String POST_LIST_REGION = "post-list";
+
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Value("${hibernate-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+    @Value("${hibernate-cache.entity-max-entries:10000}")
+    private long entityMaxEntries;
+    @Value("${hibernate-cache.query-max-entries:1000}")
+    private long queryMaxEntries;
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer() {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager());
+    }
+
+    //SessionFactory 가 닫힐 때 Hibernate 가 함께 닫는다 (컨텍스트마다 따로 만든다)//
+    private CacheManager hibernateCacheManager() {
+        org.ehcache.config.Configuration configuration = ConfigurationBuilder.newConfigurationBuilder()
+                .withCache(MEMBER_REGION, expiring(entityMaxEntries))
+                .withCache(MEMBER_NATURAL_ID_REGION, expiring(entityMaxEntries))
+                .withCache(POST_REGION, expiring(entityMaxEntries))
+                .withCache(POST_LIST_REGION, expiring(queryMaxEntries))
+                .withCache(QUERY_RESULTS_REGION, expiring(queryMaxEntries))
+                .withCache(UPDATE_TIMESTAMPS_REGION, CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class, Object.class, ResourcePoolsBuilder.heap(entityMaxEntries)).build())
+                .build();
+
+        EhcacheCachingProvider provider =
+                (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:myboard:hibernate-cache:" + UUID.randomUUID()), configuration);
+    }
+
+    private CacheConfiguration<Object, Object> expiring(long maxEntries) {
+        return CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        Object.class, Object.class, ResourcePoolsBuilder.heap(maxEntries))
+                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)))
+                .build();
+    }
+}
@@ -1,14 +1,19 @@
 package board.example.myboard.global.config;
 
-import board.example.myboard.domain.repository.MemberRepository;
 import board.example.myboard.domain.service.LoginService;
+import board.example.myboard.domain.service.PrincipalCache;
+import board.example.myboard.domain.service.TokenVersionRegistry;
 import board.example.myboard.global.jwt.service.JwtService;
 import board.example.myboard.global.login.filter.JsonUsernamePasswordAuthenticationFilter;
 import board.example.myboard.global.login.filter.JwtAuthenticationProcessingFilter;
 import board.example.myboard.global.login.handler.LoginFailureHandler;
 import board.example.myboard.global.login.handler.LoginSuccessJWTProvideHandler;
+import board.example.myboard.global.login.limiter.LoginRateLimiter;
+import board.example.myboard.global.password.BcryptStrengthCalibrator;
+import board.example.myboard.global.password.OffloadedPasswordEncoder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,11 +23,15 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.logout.LogoutFilter;
 
 import javax.servlet.Filter;
+import java.util.HashMap;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @Configuration
@@ -31,8 +40,30 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final ObjectMapper objectMapper;
     private final LoginService loginService;
 
-    private final MemberRepository memberRepository;
     private final JwtService jwtService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final LoginRateLimiter loginRateLimiter;
+
+    @Value("${jwt.stateless-principal.enabled:false}")
+    private boolean statelessPrincipal;
+
+    @Value("${password-hash.threads:0}")
+    private int passwordHashThreads;
+    @Value("${password-hash.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+    @Value("${password-hash.timeout-ms:5000}")
+    private long passwordHashTimeoutMillis;
+    @Value("${password-hash.strength:0}")
+    private int passwordHashStrength;
+    @Value("${password-hash.target-latency-ms:100}")
+    private long passwordHashTargetLatencyMillis;
+    @Value("${password-hash.min-strength:10}")
+    private int passwordHashMinStrength;
+    @Value("${password-hash.max-strength:14}")
+    private int passwordHashMaxStrength;
+
+    private static final String BCRYPT_ID = "bcrypt";
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
@@ -50,9 +81,37 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     }
 
 
+    /*
+     * 해싱은 요청 스레드가 아닌 전용 풀에서 (threads 가 0 이면 코어 수)
+     * bcrypt strength
+     * - password-hash.strength 를 정하면 모든 노드가 그 값을 쓰고, 더 낮은 strength 의 해시는 로그인할 때 다시 해싱
+     * - 0 이면 시작할 때 장비에 맞춰 정한다, 노드마다 값이 다를 수 있으므로 노드 사이의 strength 차이로는 다시 해싱하지 않는다
+     *   (다시 해싱하면 모든 해시가 가장 빠른 노드의 strength 로 올라가 느린 노드가 목표보다 오래 걸린다)
+     *   min-strength 보다 낮은 예전 해시만 로그인할 때 다시 해싱
+     * 다른 형식의 기존 해시는 기본 DelegatingPasswordEncoder 로 확인
+     * */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public OffloadedPasswordEncoder passwordEncoder(){
+        boolean fleetWideStrength = passwordHashStrength > 0;
+        int strength = fleetWideStrength ? passwordHashStrength
+                : BcryptStrengthCalibrator.calibrate(passwordHashTargetLatencyMillis,
+                        passwordHashMinStrength, passwordHashMaxStrength);
+
+        BCryptPasswordEncoder minStrength = new BCryptPasswordEncoder(passwordHashMinStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, fleetWideStrength ? new BCryptPasswordEncoder(strength)
+                : new BCryptPasswordEncoder(strength) {
+                    @Override
+                    public boolean upgradeEncoding(String encodedPassword) {
+                        return minStrength.upgradeEncoding(encodedPassword);
+                    }
+                });
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        int threads = passwordHashThreads > 0 ? passwordHashThreads : Runtime.getRuntime().availableProcessors();
+        return new OffloadedPasswordEncoder(delegatingPasswordEncoder,
+                threads, passwordHashQueueCapacity, passwordHashTimeoutMillis);
     }
 
     @Bean
@@ -60,13 +119,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setPasswordEncoder(passwordEncoder());
         provider.setUserDetailsService(loginService);
+        provider.setUserDetailsPasswordService(loginService);
         return new ProviderManager(provider);
     }
 
 
     @Bean
     public LoginSuccessJWTProvideHandler loginSuccessJWTProvideHandler(){
-        return new LoginSuccessJWTProvideHandler(jwtService, memberRepository);
+        return new LoginSuccessJWTProvideHandler(jwtService, principalCache);
     }
 
     @Bean
@@ -77,7 +137,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Bean
     public JsonUsernamePasswordAuthenticationFilter jsonUsernamePasswordLoginFilter(){
         JsonUsernamePasswordAuthenticationFilter jsonUsernamePasswordLoginFilter =
-                new JsonUsernamePasswordAuthenticationFilter(objectMapper);
+                new JsonUsernamePasswordAuthenticationFilter(objectMapper, loginRateLimiter);
         jsonUsernamePasswordLoginFilter.setAuthenticationManager(authenticationManager());
         jsonUsernamePasswordLoginFilter.setAuthenticationSuccessHandler(loginSuccessJWTProvideHandler());
         jsonUsernamePasswordLoginFilter.setAuthenticationFailureHandler(loginFailureHandler());
@@ -87,7 +147,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Bean
     public JwtAuthenticationProcessingFilter jwtAuthenticationProcessingFilter(){
         JwtAuthenticationProcessingFilter jsonUsernamePasswordLoginFilter =
-                new JwtAuthenticationProcessingFilter(jwtService, memberRepository);
+                new JwtAuthenticationProcessingFilter(jwtService, principalCache,
+                        tokenVersionRegistry, statelessPrincipal);
         return jsonUsernamePasswordLoginFilter;
     }
 }
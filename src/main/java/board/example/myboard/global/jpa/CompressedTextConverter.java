@@ -0,0 +1,19 @@
+package board.example.myboard.global.jpa;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+//String 본문을 TextCompression 형식의 바이트로 저장/조회//
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return TextCompression.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return TextCompression.decode(dbData);
+    }
+}
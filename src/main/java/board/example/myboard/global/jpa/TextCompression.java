@@ -0,0 +1,137 @@
+package board.example.myboard.global.jpa;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/*
+ * 본문 압축 형식
+ *   [0x00][UTF-8]                    : 압축 안 함 (THRESHOLD_BYTES 미만이거나 줄어들지 않을 때)
+ *   [0x01][원본 길이 int][deflate]     : Deflater(BEST_SPEED) 로 압축
+ *   그 외 (첫 바이트가 0x00/0x01 이 아님) : 헤더 없이 저장된 예전 UTF-8
+ * */
+public final class TextCompression {
+
+    public static final int THRESHOLD_BYTES = 512;
+
+    private static final byte RAW = 0x00;
+    private static final byte DEFLATE = 0x01;
+    private static final int DEFLATE_HEADER_SIZE = 5;
+
+    private TextCompression() {
+    }
+
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= THRESHOLD_BYTES) {
+            byte[] compressed = deflate(utf8);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored == null) {
+            return null;
+        }
+        if (stored.length == 0) {
+            return "";
+        }
+
+        return switch (stored[0]) {
+            case RAW -> new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+            case DEFLATE -> new String(inflate(stored), StandardCharsets.UTF_8);
+            default -> new String(stored, StandardCharsets.UTF_8);
+        };
+    }
+
+    public static boolean isCompressed(byte[] stored) {
+        return stored != null && stored.length > 0 && stored[0] == DEFLATE;
+    }
+
+    //저장된 바이트 스트림 -> 원본 UTF-8 스트림 (전체를 메모리에 올리지 않는다)//
+    public static InputStream decodingStream(InputStream stored) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(stored, 1);
+        int format = in.read();
+
+        if (format == RAW) {
+            return in;
+        }
+        if (format == DEFLATE) {
+            new DataInputStream(in).readInt();
+            return new InflaterInputStream(in);
+        }
+        if (format >= 0) {
+            in.unread(format);
+        }
+        return in;
+    }
+
+    //압축해도 줄어들지 않으면 null//
+    private static byte[] deflate(byte[] utf8) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(utf8);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + DEFLATE_HEADER_SIZE);
+            out.write(DEFLATE);
+            out.writeBytes(ByteBuffer.allocate(4).putInt(utf8.length).array());
+
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= utf8.length) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored) {
+        int length = ByteBuffer.wrap(stored, 1, 4).getInt();
+        byte[] utf8 = new byte[length];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored, DEFLATE_HEADER_SIZE, stored.length - DEFLATE_HEADER_SIZE);
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int n = inflater.inflate(utf8, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("압축된 본문이 손상되었습니다.");
+            }
+            return utf8;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 본문이 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
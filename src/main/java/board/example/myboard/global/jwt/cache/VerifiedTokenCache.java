@@ -0,0 +1,134 @@
+package board.example.myboard.global.jwt.cache;
+
+import board.example.myboard.global.jwt.dto.DecodedToken;
+import board.example.myboard.global.jwt.util.TokenDigest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 서명 검증이 끝난 토큰을 다이제스트 키로 보관하는 캐시
+ * - 세그먼트(락 분할)마다 접근 순서 LinkedHashMap 을 두어 크기를 넘으면 LRU 로 제거
+ * - 토큰의 exp 시간이 지나면 조회/저장 시점에 제거
+ * */
+@Component
+public class VerifiedTokenCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize) {
+        int segmentCapacity = Math.max(1, maxSize / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    public Optional<DecodedToken> get(String token) {
+        String key = TokenDigest.sha256Hex(token);
+        Segment segment = segmentFor(key);
+
+        synchronized (segment) {
+            DecodedToken decodedToken = segment.get(key);
+
+            if (decodedToken != null && isExpired(decodedToken, System.currentTimeMillis())) {
+                segment.remove(key);
+                evictionCount.increment();
+                decodedToken = null;
+            }
+
+            if (decodedToken == null) {
+                missCount.increment();
+                return Optional.empty();
+            }
+
+            hitCount.increment();
+            return Optional.of(decodedToken);
+        }
+    }
+
+    public void put(String token, DecodedToken decodedToken) {
+        if (!decodedToken.valid() || decodedToken.expiresAt() == null) {
+            return;
+        }
+
+        String key = TokenDigest.sha256Hex(token);
+        Segment segment = segmentFor(key);
+
+        synchronized (segment) {
+            if (segment.size() >= segment.capacity) {
+                removeExpired(segment);
+            }
+            segment.put(key, decodedToken);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new CacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size);
+    }
+
+    private Segment segmentFor(String key) {
+        return segments[(key.hashCode() & Integer.MAX_VALUE) % SEGMENT_COUNT];
+    }
+
+    private void removeExpired(Segment segment) {
+        long now = System.currentTimeMillis();
+        Iterator<DecodedToken> iterator = segment.values().iterator();
+        while (iterator.hasNext()) {
+            if (isExpired(iterator.next(), now)) {
+                iterator.remove();
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private static boolean isExpired(DecodedToken decodedToken, long now) {
+        return decodedToken.expiresAt().getTime() <= now;
+    }
+
+    public record CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+    }
+
+    private class Segment extends LinkedHashMap<String, DecodedToken> {
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DecodedToken> eldest) {
+            if (size() > capacity) {
+                evictionCount.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package board.example.myboard.global.jwt.dto;
+
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+
+import java.util.Date;
+import java.util.Optional;
+
+//검증이 끝난 토큰의 결과 (유효성, username, 만료시간, 토큰에 담긴 회원 정보)//
+public record DecodedToken(boolean valid, String username, Date expiresAt,
+                           Long memberId, Role role, Integer tokenVersion) {
+
+    private static final DecodedToken INVALID = new DecodedToken(false, null, null, null, null, null);
+
+    public static DecodedToken invalid() {
+        return INVALID;
+    }
+
+    public Optional<String> findUsername() {
+        return Optional.ofNullable(username);
+    }
+
+    //role 등의 클레임 없이 발급된 토큰이면 비어있다//
+    public Optional<MemberPrincipal> findPrincipal() {
+        if (username == null || memberId == null || role == null || tokenVersion == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new MemberPrincipal(memberId, username, role, tokenVersion));
+    }
+}
@@ -1,5 +1,8 @@
 package board.example.myboard.global.jwt.service;
 
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+import board.example.myboard.global.jwt.dto.DecodedToken;
+
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -10,12 +13,16 @@ public interface JwtService {
 
     String createAccessToken(String username);
 
+    String createAccessToken(MemberPrincipal principal);
+
     String createRefreshToken();
 
     void updateRefreshToken(String username, String refreshToken);
 
     void destroyRefreshToken(String username);
 
+    Optional<String> findUsernameByRefreshToken(String refreshToken);
+
 
     void sendAccessAndRefreshToken(HttpServletResponse response, String accessToken, String refreshToken);
 
@@ -35,4 +42,6 @@ public interface JwtService {
 
     boolean isTokenValid(String token);
 
+    DecodedToken decode(String token);
+
 }
@@ -1,8 +1,15 @@
 package board.example.myboard.global.jwt.service;
 
-import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+import board.example.myboard.domain.refreshtoken.store.RefreshTokenStore;
+import board.example.myboard.global.jwt.cache.VerifiedTokenCache;
+import board.example.myboard.global.jwt.dto.DecodedToken;
+import board.example.myboard.global.jwt.util.TokenDigest;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -12,14 +19,17 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 
 
 @Transactional
@@ -43,11 +53,25 @@ public class JwtServiceImpl implements JwtService{
     private static final String ACCESS_TOKEN_SUBJECT = "AccessToken";
     private static final String REFRESH_TOKEN_SUBJECT = "RefreshToken";
     private static final String USERNAME_CLAIM = "username";
+    private static final String MEMBER_ID_CLAIM = "memberId";
+    private static final String ROLE_CLAIM = "role";
+    private static final String TOKEN_VERSION_CLAIM = "tokenVersion";
     private static final String BEARER = "Bearer";
 
-    private final MemberRepository memberRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final RefreshTokenStore refreshTokenStore;
     private ObjectMapper objectMapper;
 
+    //서명 알고리즘과 검증기는 시작할 때 한 번만 만든다 (JWTVerifier 는 thread-safe)//
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+
+    @PostConstruct
+    public void init() {
+        this.algorithm = Algorithm.HMAC512(secret);
+        this.verifier = JWT.require(algorithm).build();
+    }
+
 
     @Override
     public String createAccessToken(String username) {
@@ -56,32 +80,49 @@ public class JwtServiceImpl implements JwtService{
                 .withExpiresAt(new Date(System.currentTimeMillis()
                         + accessTokenValidityInSeconds * 1000))
                 .withClaim(USERNAME_CLAIM, username)
-                .sign(Algorithm.HMAC512(secret));
+                .sign(algorithm);
     }
 
+    //stateless principal 모드에서 DB 조회 없이 인증할 수 있도록 회원 id, 권한, 토큰 버전을 담는다//
+    @Override
+    public String createAccessToken(MemberPrincipal principal) {
+        return JWT.create()
+                .withSubject(ACCESS_TOKEN_SUBJECT)
+                .withExpiresAt(new Date(System.currentTimeMillis()
+                        + accessTokenValidityInSeconds * 1000))
+                .withClaim(USERNAME_CLAIM, principal.username())
+                .withClaim(MEMBER_ID_CLAIM, principal.id())
+                .withClaim(ROLE_CLAIM, principal.role().name())
+                .withClaim(TOKEN_VERSION_CLAIM, principal.tokenVersion())
+                .sign(algorithm);
+    }
+
+    //같은 초에 발급된 토큰끼리 해시가 겹치지 않도록 jti 를 넣는다//
     @Override
     public String createRefreshToken() {
         return JWT.create()
                 .withSubject(REFRESH_TOKEN_SUBJECT)
+                .withJWTId(UUID.randomUUID().toString())
                 .withExpiresAt(new Date(System.currentTimeMillis() + refreshTokenValidityInSeconds * 1000))
-                .sign(Algorithm.HMAC512(secret));
+                .sign(algorithm);
     }
 
+    //회원당 여러 개의 RefreshToken 을 둘 수 있다 (기기별 로그인)//
     @Override
     public void updateRefreshToken(String username, String refreshToken) {
-        memberRepository.findByUsername(username).ifPresentOrElse(
-                member -> member.updateRefreshToken(refreshToken),
-                () -> new Exception("회원이 없습니다.")
-        );
-
+        refreshTokenStore.save(TokenDigest.sha256Hex(refreshToken), username,
+                LocalDateTime.now().plusSeconds(refreshTokenValidityInSeconds));
     }
 
     @Override
     public void destroyRefreshToken(String username) {
-        memberRepository.findByUsername(username).ifPresentOrElse(
-                member -> member.destroyRefreshToken(), () -> new Exception("회원이 없습니다.")
-        );
+        refreshTokenStore.deleteAllByUsername(username);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findUsernameByRefreshToken(String refreshToken) {
+        return refreshTokenStore.findUsername(TokenDigest.sha256Hex(refreshToken), LocalDateTime.now());
     }
 
     @Override
@@ -122,15 +163,8 @@ public class JwtServiceImpl implements JwtService{
 
     @Override
     public Optional<String> extractUsername(String accessToken) {
-        try{
-            return Optional.ofNullable(JWT.require(Algorithm.HMAC512(secret)).build().verify(accessToken).getClaim(USERNAME_CLAIM).
-                    asString());
-        } catch(Exception e){
-            log.error(e.getMessage());
-            return Optional.empty();
-        }
-
-            }
+        return decode(accessToken).findUsername();
+    }
 
     @Override
     public void setAccessTokenHeader(HttpServletResponse response, String accessToken) {
@@ -145,14 +179,32 @@ public class JwtServiceImpl implements JwtService{
 
     @Override
     public boolean isTokenValid(String token) {
+        return decode(token).valid();
+    }
+
+    //이미 검증한 토큰은 캐시에서 꺼내 HMAC 검증을 건너뛴다//
+    @Override
+    public DecodedToken decode(String token) {
+        return verifiedTokenCache.get(token).orElseGet(() -> verify(token));
+    }
+
+    private DecodedToken verify(String token) {
         try{
-            JWT.require(Algorithm.HMAC512(secret)).build().verify(token);
-            return true;
+            DecodedJWT decodedJWT = verifier.verify(token);
+            String role = decodedJWT.getClaim(ROLE_CLAIM).asString();
+            DecodedToken decodedToken = new DecodedToken(true,
+                    decodedJWT.getClaim(USERNAME_CLAIM).asString(),
+                    decodedJWT.getExpiresAt(),
+                    decodedJWT.getClaim(MEMBER_ID_CLAIM).asLong(),
+                    role == null ? null : Role.valueOf(role),
+                    decodedJWT.getClaim(TOKEN_VERSION_CLAIM).asInt());
+            verifiedTokenCache.put(token, decodedToken);
+            return decodedToken;
 
         }catch(Exception e)
         {
-            log.error("유효하지 않은 TOKEN입니다.", e.getMessage());
-            return false;
+            log.error("유효하지 않은 TOKEN입니다. {}", e.getMessage());
+            return DecodedToken.invalid();
         }
     }
 }
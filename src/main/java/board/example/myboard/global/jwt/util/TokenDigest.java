@@ -0,0 +1,24 @@
+package board.example.myboard.global.jwt.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+//토큰 원문 대신 보관/조회 키로 쓰는 고정 길이(64자) SHA-256 다이제스트//
+public final class TokenDigest {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private TokenDigest() {
+    }
+
+    public static String sha256Hex(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance(ALGORITHM);
+            return HexFormat.of().formatHex(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
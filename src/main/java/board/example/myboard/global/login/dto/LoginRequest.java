@@ -0,0 +1,4 @@
+package board.example.myboard.global.login.dto;
+
+public record LoginRequest(String username, String password) {
+}
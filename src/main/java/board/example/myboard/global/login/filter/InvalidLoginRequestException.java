@@ -0,0 +1,17 @@
+package board.example.myboard.global.login.filter;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+//Content-Type, 본문 크기, JSON 형식이 잘못된 로그인 요청//
+@Getter
+public class InvalidLoginRequestException extends AuthenticationServiceException {
+
+    private final HttpStatus status;
+
+    public InvalidLoginRequestException(HttpStatus status, String msg) {
+        super(msg);
+        this.status = status;
+    }
+}
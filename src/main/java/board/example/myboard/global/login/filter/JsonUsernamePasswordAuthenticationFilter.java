@@ -1,20 +1,27 @@
 package board.example.myboard.global.login.filter;
 
+import board.example.myboard.global.login.dto.LoginRequest;
+import board.example.myboard.global.login.limiter.LoginRateLimitedException;
+import board.example.myboard.global.login.limiter.LoginRateLimiter;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.AbstractAuthenticationProcessingFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
-import org.springframework.util.StreamUtils;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.io.InputStream;
 
 public class JsonUsernamePasswordAuthenticationFilter extends AbstractAuthenticationProcessingFilter {
 
@@ -22,9 +29,11 @@ public class JsonUsernamePasswordAuthenticationFilter extends AbstractAuthentica
 
     private static final String HTTP_METHOD ="POST";
 
-    private static final String CONTENT_TYPE = "application/json";
+    //로그인 본문은 username, password 뿐이므로 이 이상은 읽지 않는다//
+    private static final int MAX_BODY_BYTES = 4 * 1024;
 
     private final ObjectMapper objectMapper;
+    private final LoginRateLimiter loginRateLimiter;
 
     private static final String USERNAME_KEY ="username";
     private static final String PASSWORD_KEY ="password";
@@ -32,10 +41,11 @@ public class JsonUsernamePasswordAuthenticationFilter extends AbstractAuthentica
     private static final AntPathRequestMatcher DEFAULT_LOGIN_PATH_REQUEST_MATCHER =
             new AntPathRequestMatcher(DEFAULT_LOGIN_REQUEST_URL, HTTP_METHOD);
 
-    public JsonUsernamePasswordAuthenticationFilter(ObjectMapper objectMapper) {
+    public JsonUsernamePasswordAuthenticationFilter(ObjectMapper objectMapper, LoginRateLimiter loginRateLimiter) {
         super(DEFAULT_LOGIN_PATH_REQUEST_MATCHER);
 
         this.objectMapper = objectMapper;
+        this.loginRateLimiter = loginRateLimiter;
     }
 
 
@@ -43,18 +53,105 @@ public class JsonUsernamePasswordAuthenticationFilter extends AbstractAuthentica
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException, IOException, ServletException {
 
-        if(request.getContentType() == null && !request.getContentType().equals(CONTENT_TYPE)) {
-            throw new AuthenticationServiceException("Authentication Content-Type not supported: " + request.getContentType());
+        //비밀번호 해싱까지 가기 전에 과도한 시도를 거절//
+        if(!loginRateLimiter.tryAcquireForIp(request.getRemoteAddr())) {
+            throw new LoginRateLimitedException("로그인 시도가 너무 많습니다. ip: " + request.getRemoteAddr());
         }
 
-        String messageBody = StreamUtils.copyToString(request.getInputStream(), StandardCharsets.UTF_8);
-        Map<String,String> usernamePasswordMap = objectMapper.readValue(messageBody, Map.class);
+        if(!isJson(request.getContentType())) {
+            throw new InvalidLoginRequestException(HttpStatus.BAD_REQUEST,
+                    "Authentication Content-Type not supported: " + request.getContentType());
+        }
+
+        if(request.getContentLengthLong() > MAX_BODY_BYTES) {
+            throw new InvalidLoginRequestException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Authentication body too large: " + request.getContentLengthLong());
+        }
 
-        String username = usernamePasswordMap.get(USERNAME_KEY);
-        String password = usernamePasswordMap.get(PASSWORD_KEY);
+        LoginRequest loginRequest = readLoginRequest(request.getInputStream());
 
-        UsernamePasswordAuthenticationToken authRequest = new UsernamePasswordAuthenticationToken(username, password);
+        if(!loginRateLimiter.tryAcquireForUsername(loginRequest.username())) {
+            throw new LoginRateLimitedException("로그인 시도가 너무 많습니다. username: " + loginRequest.username());
+        }
+
+        UsernamePasswordAuthenticationToken authRequest =
+                new UsernamePasswordAuthenticationToken(loginRequest.username(), loginRequest.password());
 
         return this.getAuthenticationManager().authenticate(authRequest);
     }
+
+    private boolean isJson(String contentType) {
+        if(contentType == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_JSON.includes(MediaType.parseMediaType(contentType));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    //본문 전체를 String/Map 으로 만들지 않고 토큰 단위로 읽어서 필요한 두 필드만 꺼낸다//
+    private LoginRequest readLoginRequest(InputStream inputStream) throws IOException {
+        String username = null;
+        String password = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(new LimitedInputStream(inputStream))) {
+            if(parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidLoginRequestException(HttpStatus.BAD_REQUEST, "Authentication body must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken valueToken = parser.nextToken();
+
+                if(valueToken == JsonToken.VALUE_STRING && USERNAME_KEY.equals(fieldName)) {
+                    username = parser.getText();
+                } else if(valueToken == JsonToken.VALUE_STRING && PASSWORD_KEY.equals(fieldName)) {
+                    password = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw new InvalidLoginRequestException(HttpStatus.BAD_REQUEST, "Authentication body is not valid JSON");
+        }
+
+        return new LoginRequest(username, password);
+    }
+
+    //Content-Length 가 없거나 틀린 요청(chunked 등)도 MAX_BODY_BYTES 까지만 읽는다//
+    private static class LimitedInputStream extends FilterInputStream {
+
+        private long remaining = MAX_BODY_BYTES;
+
+        private LimitedInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if(read != -1) {
+                consume(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if(read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        private void consume(int count) {
+            remaining -= count;
+            if(remaining < 0) {
+                throw new InvalidLoginRequestException(HttpStatus.PAYLOAD_TOO_LARGE, "Authentication body too large");
+            }
+        }
+    }
 }
@@ -1,7 +1,9 @@
 package board.example.myboard.global.login.filter;
 
-import board.example.myboard.domain.member.Member;
-import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+import board.example.myboard.domain.service.PrincipalCache;
+import board.example.myboard.domain.service.TokenVersionRegistry;
+import board.example.myboard.global.jwt.dto.DecodedToken;
 import board.example.myboard.global.jwt.service.JwtService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -19,13 +21,16 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 
 @RequiredArgsConstructor
 public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final boolean statelessPrincipal;
     private GrantedAuthoritiesMapper authoritiesMapper = new NullAuthoritiesMapper();
 
     private final String N0_CHECK_URL = "/login";
@@ -42,7 +47,7 @@ public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
 
         String refreshToken = jwtService
                 .extractRefreshToken(request)
-                .filter(jwtService::isTokenValid)
+                .filter(token -> jwtService.decode(token).valid())
                 .orElse(null);
 
 
@@ -58,14 +63,12 @@ public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
     private void checkAccessTokenAndAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
     throws ServletException, IOException{
 
-        jwtService.extractAccessToken(request).filter(jwtService::isTokenValid).ifPresent(
+        //토큰 검증은 요청당 한 번만 한다//
+        jwtService.extractAccessToken(request).map(jwtService::decode).filter(DecodedToken::valid).ifPresent(
 
-                accessToken -> jwtService.extractUsername(accessToken).ifPresent(
+                decodedToken -> findPrincipal(decodedToken).ifPresent(
 
-                        username -> memberRepository.findByUsername(username).ifPresent(
-
-                                member -> saveAuthentication(member)
-                        )
+                        principal -> saveAuthentication(principal)
                 )
         );
 
@@ -74,11 +77,24 @@ public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
     }
 
 
-    private void saveAuthentication(Member member){
+    //stateless 모드: 토큰의 클레임으로 바로 인증 (토큰 버전이 지난 것은 거부), 클레임이 없는 토큰은 DB 기반으로 처리//
+    private Optional<MemberPrincipal> findPrincipal(DecodedToken decodedToken) {
+        if (statelessPrincipal) {
+            Optional<MemberPrincipal> principal = decodedToken.findPrincipal();
+            if (principal.isPresent()) {
+                return principal.filter(found -> tokenVersionRegistry.isCurrent(found.id(), found.tokenVersion()));
+            }
+        }
+
+        return decodedToken.findUsername().flatMap(principalCache::get);
+    }
+
+    //비밀번호는 인증 이후에 쓰이지 않으므로 스냅샷에 담지 않는다//
+    private void saveAuthentication(MemberPrincipal principal){
         UserDetails user = User.builder()
-                .username(member.getUsername())
-                .password(member.getPassword())
-                .roles(member.getRole().name())
+                .username(principal.username())
+                .password("")
+                .roles(principal.role().name())
                 .build();
 
         Authentication authentication =
@@ -94,9 +110,9 @@ public class JwtAuthenticationProcessingFilter extends OncePerRequestFilter {
 
     private void checkRefreshTokenAndReIssueAccessToken(HttpServletResponse response, String refreshToken) {
 
-        memberRepository.findByRefreshToken(refreshToken).ifPresent(
-                member -> jwtService.sendAccessToken(response,
-                        jwtService.createAccessToken(member.getUsername()))
+        jwtService.findUsernameByRefreshToken(refreshToken).flatMap(principalCache::get).ifPresent(
+                principal -> jwtService.sendAccessToken(response,
+                        jwtService.createAccessToken(principal))
         );
 
     }
@@ -1,6 +1,9 @@
 package board.example.myboard.global.login.handler;
 
+import board.example.myboard.global.login.filter.InvalidLoginRequestException;
+import board.example.myboard.global.login.limiter.LoginRateLimitedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 
@@ -16,6 +19,20 @@ public class LoginFailureHandler extends SimpleUrlAuthenticationFailureHandler {
     public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
                                         AuthenticationException exception) throws IOException, ServletException
     {
+        if(exception instanceof LoginRateLimitedException) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.getWriter().write("fail");
+            log.info(exception.getMessage());
+            return;
+        }
+
+        if(exception instanceof InvalidLoginRequestException invalidLoginRequestException) {
+            response.setStatus(invalidLoginRequestException.getStatus().value());
+            response.getWriter().write("fail");
+            log.info(exception.getMessage());
+            return;
+        }
+
         response.setStatus(HttpServletResponse.SC_OK);
         response.getWriter().write("fail");
         log.info("로그인에 실패했습니다");
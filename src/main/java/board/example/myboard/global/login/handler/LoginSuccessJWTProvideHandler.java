@@ -1,6 +1,6 @@
 package board.example.myboard.global.login.handler;
 
-import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.service.PrincipalCache;
 import board.example.myboard.global.jwt.service.JwtService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,19 +18,21 @@ import java.io.IOException;
 public class LoginSuccessJWTProvideHandler extends SimpleUrlAuthenticationSuccessHandler {
 
     private final JwtService jwtService;
-    private final MemberRepository memberRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication)
         throws IOException, ServletException {
 
         String username = extractUsername(authentication);
-        String accessToken = jwtService.createAccessToken(username);
+        String accessToken = principalCache.get(username)
+                .map(jwtService::createAccessToken)
+                .orElseGet(() -> jwtService.createAccessToken(username));
         String refreshToken = jwtService.createRefreshToken();
 
         jwtService.sendAccessAndRefreshToken(response, accessToken, refreshToken);
 
-        memberRepository.findByUsername(username).ifPresent(member -> member.updateRefreshToken(refreshToken));
+        jwtService.updateRefreshToken(username, refreshToken);
 
 
         log.info("로그인에 성공합니다. username: {}" , username);
@@ -0,0 +1,10 @@
+package board.example.myboard.global.login.limiter;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class LoginRateLimitedException extends AuthenticationServiceException {
+
+    public LoginRateLimitedException(String msg) {
+        super(msg);
+    }
+}
@@ -0,0 +1,95 @@
+package board.example.myboard.global.login.limiter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 로그인 시도 제한 (username, 클라이언트 IP 별 token bucket)
+ * bucket 하나를 "다음 토큰이 비는 시각" 하나의 AtomicLong 으로 표현하고 CAS 로만 갱신한다 (GCRA).
+ * capacity 개까지 연속으로 허용하고, refill-seconds 동안 capacity 개가 다시 채워진다.
+ * sweep 은 다 채워진 bucket 을 먼저 CAS 로 REMOVED 표시한 뒤 지운다
+ *   - 그 사이 tryAcquire 가 갱신했으면 CAS 가 실패해 지우지 않는다
+ *   - 표시된 bucket 을 만난 tryAcquire 는 새 bucket 으로 다시 시도한다 (지운 bucket 에 쓴 시도가 사라지지 않게)
+ * */
+@Component
+public class LoginRateLimiter {
+
+    private final Buckets usernameBuckets;
+    private final Buckets ipBuckets;
+
+    public LoginRateLimiter(@Value("${login-rate-limit.username.capacity:20}") int usernameCapacity,
+                            @Value("${login-rate-limit.username.refill-seconds:60}") long usernameRefillSeconds,
+                            @Value("${login-rate-limit.ip.capacity:100}") int ipCapacity,
+                            @Value("${login-rate-limit.ip.refill-seconds:60}") long ipRefillSeconds) {
+        this.usernameBuckets = new Buckets(usernameCapacity, usernameRefillSeconds);
+        this.ipBuckets = new Buckets(ipCapacity, ipRefillSeconds);
+    }
+
+    public boolean tryAcquireForIp(String clientIp) {
+        return ipBuckets.tryAcquire(clientIp == null ? "" : clientIp, System.nanoTime());
+    }
+
+    //username 이 없으면 모두 같은 bucket 을 쓰게 되어 한 클라이언트가 다른 요청까지 막을 수 있으므로 확인하지 않는다 (ip 제한만)//
+    public boolean tryAcquireForUsername(String username) {
+        if (username == null || username.isBlank()) {
+            return true;
+        }
+        return usernameBuckets.tryAcquire(username, System.nanoTime());
+    }
+
+    //다 채워진 bucket 은 새로 만든 것과 같으므로 지운다//
+    @Scheduled(fixedDelayString = "${login-rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        usernameBuckets.removeFull(now);
+        ipBuckets.removeFull(now);
+    }
+
+    private static class Buckets {
+
+        private static final long REMOVED = Long.MIN_VALUE;
+
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        private final ConcurrentHashMap<String, AtomicLong> theoreticalArrivalTimes = new ConcurrentHashMap<>();
+
+        private Buckets(int capacity, long refillSeconds) {
+            this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(refillSeconds) / capacity;
+            this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        }
+
+        private boolean tryAcquire(String key, long now) {
+            while (true) {
+                AtomicLong theoreticalArrivalTime = theoreticalArrivalTimes.computeIfAbsent(key, k -> new AtomicLong(now));
+                long current = theoreticalArrivalTime.get();
+                if (current == REMOVED) {
+                    theoreticalArrivalTimes.remove(key, theoreticalArrivalTime);
+                    continue;
+                }
+                long next = Math.max(current, now) + emissionIntervalNanos;
+
+                if (next - now > burstToleranceNanos) {
+                    return false;
+                }
+                if (theoreticalArrivalTime.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private void removeFull(long now) {
+            theoreticalArrivalTimes.forEach((key, theoreticalArrivalTime) -> {
+                long current = theoreticalArrivalTime.get();
+                if (current != REMOVED && current - now <= 0 && theoreticalArrivalTime.compareAndSet(current, REMOVED)) {
+                    theoreticalArrivalTimes.remove(key, theoreticalArrivalTime);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package board.example.myboard.global.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/*
+ * 현재 장비에서 bcrypt 한 번이 목표 시간(targetMillis)에 가깝게 걸리는 strength 를 고른다.
+ * strength 가 1 오를 때마다 비용이 2배가 되므로, 최소 strength 로 측정한 뒤 log2 로 계산한다.
+ * */
+@Slf4j
+public final class BcryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLE_COUNT = 3;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD); //warm up
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - startedAt);
+        }
+
+        double measuredMillis = Math.max(bestNanos / 1_000_000.0, 0.001);
+        int extraRounds = (int) Math.floor(Math.log(targetMillis / measuredMillis) / Math.log(2));
+        int strength = Math.max(minStrength, Math.min(maxStrength, minStrength + extraRounds));
+
+        log.info("bcrypt strength 를 {} 로 설정합니다. (strength {} 측정값: {}ms, 목표: {}ms)",
+                strength, minStrength, String.format("%.1f", measuredMillis), targetMillis);
+        return strength;
+    }
+}
@@ -0,0 +1,143 @@
+package board.example.myboard.global.password;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * bcrypt 해싱을 전용 스레드 풀(코어 수 크기)에서 실행하는 PasswordEncoder
+ * - 동시에 해싱하는 스레드 수를 코어 수로 제한해서 다른 요청 스레드가 CPU 를 빼앗기지 않게 한다
+ * - 대기 큐가 가득 차면 바로 거절 (PasswordHashingRejectedException)
+ * - 호출한 요청 스레드는 해싱이 끝날 때까지(최대 timeout) 기다린다
+ *   요청 스레드를 비워 주지는 않고, 동시에 해싱하는 수와 기다리는 요청 수를 제한한다
+ * - 시간이 초과되면 작업을 취소하고 큐에서 바로 빼서 자리를 비운다 (아직 시작하지 않은 해싱은 실행되지 않는다)
+ *   이미 시작한 bcrypt 는 인터럽트를 확인하지 않으므로 끝날 때까지 스레드를 쓴다
+ * - 대기 큐 길이, 실행 중인 수, 거절 수, 해싱/대기 시간을 메트릭(password.hash.*)으로 내보낸다
+ * */
+public class OffloadedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    public OffloadedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("해싱을 기다리는 요청 수")
+                .register(registry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("해싱 중인 스레드 수")
+                .register(registry);
+        FunctionCounter.builder("password.hash.rejected", rejectedCount, LongAdder::sum)
+                .description("큐가 가득 찼거나 시간이 초과되어 거절한 요청 수")
+                .register(registry);
+        FunctionTimer.builder("password.hash", this,
+                        encoder -> encoder.completedCount.sum(), encoder -> encoder.totalHashNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("해싱에 걸린 시간")
+                .register(registry);
+        FunctionTimer.builder("password.hash.wait", this,
+                        encoder -> encoder.completedCount.sum(), encoder -> encoder.totalWaitNanos.sum(),
+                        TimeUnit.NANOSECONDS)
+                .description("큐에서 기다린 시간")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return hashing.call();
+                } finally {
+                    totalHashNanos.add(System.nanoTime() - startedAt);
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("비밀번호 처리 요청이 너무 많습니다.", e);
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("비밀번호 처리 시간이 초과되었습니다.", e);
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("비밀번호 처리가 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    //submit 이 돌려준 FutureTask 가 큐에 들어간 작업이다//
+    private void cancel(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable task) {
+            executor.remove(task);
+        }
+    }
+
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package board.example.myboard.global.password;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+//해싱 큐가 가득 찼거나 제한 시간 안에 끝나지 않았을 때//
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(String msg) {
+        super(msg);
+    }
+
+    public PasswordHashingRejectedException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
+}
@@ -1,9 +1,10 @@
 package board.example.myboard;
 
+import board.example.myboard.support.TestProperties;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 class MyboardApplicationTests {
 
 	@Test
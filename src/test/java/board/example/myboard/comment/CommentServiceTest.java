@@ -2,7 +2,12 @@ package board.example.myboard.comment;
 
 import board.example.myboard.domain.comment.repository.CommentRepository;
 import board.example.myboard.domain.comment.service.Comment;
+import board.example.myboard.domain.comment.dto.CommentDto;
+import board.example.myboard.domain.comment.dto.CommentPageDto;
+import board.example.myboard.domain.comment.dto.CommentTreeDto;
 import board.example.myboard.domain.comment.service.CommentService;
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.support.TestProperties;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,12 +16,14 @@ import org.springframework.boot.test.context.SpringBootTest;
 import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @Transactional
 public class CommentServiceTest {
 
@@ -183,4 +190,54 @@ public class CommentServiceTest {
 
 
     }
+
+
+    //게시글 단위 댓글 페이징
+    //다른 게시글의 댓글은 섞이지 않고, 커서를 따라가면 작성순으로 모두 조회
+    @Test
+    public void 게시글_댓글_페이징() throws Exception {
+        Post post = Post.builder().title("제목").content("내용").filePath("filePath").build();
+        Post otherPost = Post.builder().title("제목").content("내용").filePath("filePath").build();
+        em.persist(post);
+        em.persist(otherPost);
+
+        for (int i = 0; i < 7; i++) {
+            commentRepository.save(Comment.builder().content("댓글" + i).post(post).build());
+        }
+        commentRepository.save(Comment.builder().content("다른 댓글").post(otherPost).build());
+        clear();
+
+        List<Long> ids = new ArrayList<>();
+        CommentPageDto page = commentService.findPageByPost(post.getId(), null, null, 3);
+        ids.addAll(page.comments().stream().map(CommentDto::id).toList());
+
+        while (page.hasNext()) {
+            page = commentService.findPageByPost(post.getId(), page.nextCreatedDate(), page.nextId(), 3);
+            ids.addAll(page.comments().stream().map(CommentDto::id).toList());
+        }
+
+        assertThat(ids).hasSize(7);
+        assertThat(ids).isSorted();
+    }
+
+    //게시글의 댓글 트리 조회
+    @Test
+    public void 게시글_댓글_트리_조회() throws Exception {
+        Post post = Post.builder().title("제목").content("내용").filePath("filePath").build();
+        em.persist(post);
+
+        Comment comment1 = commentRepository.save(Comment.builder().content("댓글1").post(post).build());
+        Comment comment2 = commentRepository.save(Comment.builder().content("댓글2").post(post).build());
+        commentRepository.save(Comment.builder().content("대댓글1").post(post).parent(comment1).build());
+        commentRepository.save(Comment.builder().content("대댓글2").post(post).parent(comment1).build());
+        clear();
+
+        List<CommentTreeDto> tree = commentService.findTreeByPost(post.getId());
+
+        assertThat(tree).hasSize(2);
+        assertThat(tree.get(0).id()).isEqualTo(comment1.getId());
+        assertThat(tree.get(0).children()).extracting(CommentTreeDto::content).containsExactly("대댓글1", "대댓글2");
+        assertThat(tree.get(1).id()).isEqualTo(comment2.getId());
+        assertThat(tree.get(1).children()).isEmpty();
+    }
 }
@@ -3,6 +3,7 @@ package board.example.myboard.domain.Member;
 import board.example.myboard.domain.member.Member;
 import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.support.TestProperties;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -18,7 +19,7 @@ import javax.persistence.EntityManager;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @Transactional
 class MemberRepositoryTest {
 
@@ -184,4 +185,18 @@ class MemberRepositoryTest {
 
     }
 
-}
\ No newline at end of file
+    //username 자연키 조회 (2차 캐시 경로)//
+    @Test
+    void 자연키로_회원조회() throws Exception {
+        Member member = Member.builder().username("username").password("!23455ee5").name("Member1").nickname("nickname").role(Role.USER).age(22).build();
+        memberRepository.save(member);
+        clear();
+
+        Member findMember = memberRepository.findByUsername("username").orElseThrow(() -> new Exception());
+
+        assertThat(findMember.getId()).isEqualTo(member.getId());
+        assertThat(memberRepository.findByUsername("username" + "123")).isEmpty();
+        assertThat(memberRepository.findByUsername(null)).isEmpty();
+    }
+
+}
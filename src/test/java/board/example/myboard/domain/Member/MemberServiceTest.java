@@ -6,8 +6,10 @@ import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.member.dto.MemberInfoDto;
 import board.example.myboard.domain.member.dto.MemberSignUpDto;
 import board.example.myboard.domain.member.dto.MemberUpdateDto;
+import board.example.myboard.domain.refreshtoken.store.RefreshTokenStore;
 import board.example.myboard.domain.repository.MemberRepository;
 import board.example.myboard.domain.service.MemberService;
+import board.example.myboard.support.TestProperties;
 import com.zaxxer.hikari.SQLExceptionOverride;
 import net.bytebuddy.asm.MemberSubstitution;
 import org.assertj.core.api.Assertions;
@@ -25,12 +27,13 @@ import javax.persistence.EntityManager;
 import javax.swing.plaf.metal.MetalMenuBarUI;
 import javax.transaction.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @Transactional
 public class MemberServiceTest {
 
@@ -46,6 +49,9 @@ public class MemberServiceTest {
     @Autowired
     PasswordEncoder passwordEncoder;
 
+    @Autowired
+    RefreshTokenStore refreshTokenStore;
+
     String PASSWORD = "password";
 
     private void clear(){
@@ -143,6 +149,19 @@ public class MemberServiceTest {
 
     }
 
+    //비밀번호를 바꾸면 이전 RefreshToken 으로 AccessToken 을 다시 받을 수 없다
+    @Test
+    public void 비밀번호수정시_RefreshToken_삭제() throws Exception {
+        MemberSignUpDto memberSignUpDto = setMember();
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenStore.save("hash", memberSignUpDto.username(), now.plusMinutes(1));
+
+        memberService.updatePassword(PASSWORD, "12345667weoweiow");
+        clear();
+
+        assertThat(refreshTokenStore.findUsername("hash", now)).isEmpty();
+    }
+
     @Test
     public void 회원수정_별명만수정() throws Exception {
         MemberSignUpDto memberSignUpDto = setMember();
@@ -0,0 +1,153 @@
+package board.example.myboard.domain.Member;
+
+import board.example.myboard.domain.comment.repository.CommentRepository;
+import board.example.myboard.domain.comment.service.Comment;
+import board.example.myboard.domain.comment.service.CommentService;
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import board.example.myboard.domain.post.search.SearchResult;
+import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.service.MemberService;
+import board.example.myboard.domain.service.MemberWithdrawalProcessor;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+//비동기 탈퇴는 커밋 후에 시작되므로 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = {TestProperties.SEARCH_INDEX_DIR, "member.withdraw.async=true"})
+public class MemberWithdrawalProcessorTest {
+
+    @Autowired
+    MemberWithdrawalProcessor memberWithdrawalProcessor;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    PostSearchIndexer postSearchIndexer;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    private static String WITHDRAWING = "withdrawing";
+    private static String PASSWORD = "password";
+
+    @AfterEach
+    void cleanUp() {
+        SecurityContextHolder.clearContext();
+        TestDatabase.cleanUp(context);
+    }
+
+    private record Fixture(Long memberId, Long postId, Long otherPostId, Long remainingCommentId) {
+    }
+
+    private Member member(String username) {
+        return memberRepository.save(Member.builder().username(username).password(passwordEncoder.encode(PASSWORD))
+                .name("MEMBER1").nickname("Nickname1").role(Role.USER).age(30).build());
+    }
+
+    private Comment comment(Member writer, Post post, Comment parent) {
+        Comment comment = Comment.builder().writer(writer).post(post).parent(parent).content("댓글").build();
+        commentService.save(comment);
+        return comment;
+    }
+
+    /*
+     * 탈퇴하는 회원(A)과 다른 회원(B)
+     * - A 의 게시글: B 의 댓글, 그 댓글에 B 의 대댓글 -> 모두 삭제
+     * - B 의 게시글: A 의 댓글(+ B 의 대댓글), B 의 댓글(+ A 의 대댓글) -> B 의 댓글만 남는다
+     * */
+    private Fixture saveFixture() {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            Member withdrawing = member(WITHDRAWING);
+            Member other = member("other");
+            Post post = postRepository.save(Post.builder().writer(withdrawing).title("제목").content("내용").filePath("filePath").build());
+            Post otherPost = postRepository.save(Post.builder().writer(other).title("제목").content("내용").filePath("filePath").build());
+
+            comment(other, post, comment(other, post, null));
+            comment(other, otherPost, comment(withdrawing, otherPost, null));
+            Comment remaining = comment(other, otherPost, null);
+            comment(withdrawing, otherPost, remaining);
+
+            postSearchIndexer.index(post);
+            postSearchIndexer.index(otherPost);
+            return new Fixture(withdrawing.getId(), post.getId(), otherPost.getId(), remaining.getId());
+        });
+    }
+
+    private void assertPurged(Fixture fixture) {
+        assertThat(memberRepository.findById(fixture.memberId())).isEmpty();
+        assertThat(postRepository.findById(fixture.postId())).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from post_body", Long.class)).isEqualTo(1);
+        assertThat(commentRepository.findAll()).extracting(Comment::getId).containsExactly(fixture.remainingCommentId());
+        assertThat(postRepository.findById(fixture.otherPostId()).get().getCommentCount()).isEqualTo(1);
+        assertThat(postSearchIndexer.search("제목", 0, 10).hits())
+                .extracting(SearchResult.Hit::postId).containsExactly(fixture.otherPostId());
+    }
+
+    @Test
+    public void 작성한_게시글_댓글_일괄삭제와_댓글수_재계산() throws Exception {
+        Fixture fixture = saveFixture();
+        assertThat(postRepository.findById(fixture.otherPostId()).get().getCommentCount()).isEqualTo(4);
+
+        memberWithdrawalProcessor.purge(fixture.memberId());
+
+        assertPurged(fixture);
+    }
+
+    //탈퇴 표시가 커밋된 뒤 MemberWithdrawnEvent 로 비동기 삭제
+    @Test
+    public void 비동기_탈퇴는_커밋_후에_삭제() throws Exception {
+        Fixture fixture = saveFixture();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(User.builder()
+                .username(WITHDRAWING).password(PASSWORD).roles(Role.USER.name()).build(), null, null));
+        SecurityContextHolder.setContext(context);
+
+        memberService.withdraw(PASSWORD);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (memberRepository.existsById(fixture.memberId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertPurged(fixture);
+    }
+}
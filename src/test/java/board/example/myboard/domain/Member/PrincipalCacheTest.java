@@ -0,0 +1,160 @@
+package board.example.myboard.domain.Member;
+
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.member.dto.MemberPrincipal;
+import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.service.MemberService;
+import board.example.myboard.domain.service.PrincipalCache;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+
+//커밋 이후의 무효화를 보려고 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+public class PrincipalCacheTest {
+
+    @Autowired
+    PrincipalCache principalCache;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    private static String USERNAME = "username";
+    private static String PASSWORD = "password";
+
+    @AfterEach
+    public void cleanUp() {
+        SecurityContextHolder.clearContext();
+        principalCache.invalidate(USERNAME);
+        TestDatabase.cleanUp(context);
+    }
+
+    private Member saveMember() {
+        return memberRepository.save(Member.builder().username(USERNAME).password(passwordEncoder.encode(PASSWORD))
+                .name("MEMBER1").nickname("Nickname1").role(Role.USER).age(30).build());
+    }
+
+    private void login() {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(User.builder()
+                .username(USERNAME).password(PASSWORD).roles(Role.USER.name()).build(), null, null));
+        SecurityContextHolder.setContext(context);
+    }
+
+    //서비스를 거치지 않은 변경 (다른 노드 등)
+    private void updateRoleDirectly(Role role) {
+        jdbcTemplate.update("update member set role = ? where username = ?", role.name(), USERNAME);
+    }
+
+    @Test
+    public void TTL_동안은_캐시에서_지나면_다시_읽음() throws Exception {
+        saveMember();
+        PrincipalCache cached = new PrincipalCache(memberRepository, 60, 100);
+        PrincipalCache expired = new PrincipalCache(memberRepository, 0, 100);
+        assertThat(cached.get(USERNAME).get().role()).isEqualTo(Role.USER);
+        assertThat(expired.get(USERNAME).get().role()).isEqualTo(Role.USER);
+
+        updateRoleDirectly(Role.ADMIN);
+
+        assertThat(cached.get(USERNAME).get().role()).isEqualTo(Role.USER);
+        assertThat(expired.get(USERNAME).get().role()).isEqualTo(Role.ADMIN);
+    }
+
+    //가득 차도 새 회원은 캐시하고, 가장 오래 안 쓴 회원을 내보낸다
+    @Test
+    public void 가득_차면_가장_오래_안_쓴_회원부터_제거() throws Exception {
+        saveMember();
+        memberRepository.save(Member.builder().username("other").password(passwordEncoder.encode(PASSWORD))
+                .name("MEMBER2").nickname("Nickname2").role(Role.USER).age(30).build());
+        PrincipalCache lru = new PrincipalCache(memberRepository, 60, 1);
+        assertThat(lru.get(USERNAME).get().role()).isEqualTo(Role.USER);
+        assertThat(lru.get("other").get().role()).isEqualTo(Role.USER);
+
+        jdbcTemplate.update("update member set role = ?", Role.ADMIN.name());
+
+        assertThat(lru.get("other").get().role()).isEqualTo(Role.USER);
+        assertThat(lru.get(USERNAME).get().role()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    public void 권한을_바꾸면_바로_반영() throws Exception {
+        Member member = saveMember();
+        assertThat(principalCache.get(USERNAME).get().role()).isEqualTo(Role.USER);
+
+        memberService.updateRole(member.getId(), Role.ADMIN);
+
+        assertThat(principalCache.get(USERNAME).get().role()).isEqualTo(Role.ADMIN);
+    }
+
+    @Test
+    public void 비밀번호를_바꾸면_바로_반영() throws Exception {
+        saveMember();
+        int tokenVersion = principalCache.get(USERNAME).get().tokenVersion();
+        login();
+
+        memberService.updatePassword(PASSWORD, "newPassword");
+
+        assertThat(principalCache.get(USERNAME).get().tokenVersion()).isEqualTo(tokenVersion + 1);
+    }
+
+    @Test
+    public void 탈퇴하면_사라짐() throws Exception {
+        saveMember();
+        assertThat(principalCache.get(USERNAME)).isPresent();
+        login();
+
+        memberService.withdraw(PASSWORD);
+
+        assertThat(principalCache.get(USERNAME)).isEmpty();
+    }
+
+    //커밋 전에 다른 스레드가 예전 값을 다시 캐시에 올려도 커밋 후(afterCompletion)에 지운다
+    @Test
+    public void 커밋_전에_다시_올라간_예전_값은_커밋_후에_지움() throws Exception {
+        saveMember();
+
+        MemberPrincipal stale = new TransactionTemplate(transactionManager).execute(status -> {
+            updateRoleDirectly(Role.ADMIN);
+            principalCache.invalidate(USERNAME);
+
+            MemberPrincipal readByOtherThread = CompletableFuture.supplyAsync(() -> principalCache.get(USERNAME).get()).join();
+            assertThat(principalCache.get(USERNAME).get().role()).isEqualTo(Role.USER);
+            return readByOtherThread;
+        });
+
+        assertThat(stale.role()).isEqualTo(Role.USER);
+        assertThat(principalCache.get(USERNAME).get().role()).isEqualTo(Role.ADMIN);
+    }
+}
@@ -0,0 +1,88 @@
+package board.example.myboard.domain.login;
+
+import board.example.myboard.global.login.limiter.LoginRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class LoginRateLimiterTest {
+
+    @Test
+    public void username_허용량을_넘으면_거절() throws Exception {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(3, 60, 100, 60);
+
+        assertThat(loginRateLimiter.tryAcquireForUsername("username")).isTrue();
+        assertThat(loginRateLimiter.tryAcquireForUsername("username")).isTrue();
+        assertThat(loginRateLimiter.tryAcquireForUsername("username")).isTrue();
+        assertThat(loginRateLimiter.tryAcquireForUsername("username")).isFalse();
+
+        assertThat(loginRateLimiter.tryAcquireForUsername("other")).isTrue();
+    }
+
+    @Test
+    public void ip_허용량을_넘으면_거절() throws Exception {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(100, 60, 2, 60);
+
+        assertThat(loginRateLimiter.tryAcquireForIp("127.0.0.1")).isTrue();
+        assertThat(loginRateLimiter.tryAcquireForIp("127.0.0.1")).isTrue();
+        assertThat(loginRateLimiter.tryAcquireForIp("127.0.0.1")).isFalse();
+    }
+
+    //username 이 없는 요청끼리 같은 bucket 을 쓰지 않는다
+    @Test
+    public void username_이_없으면_확인하지_않음() throws Exception {
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(1, 60, 100, 60);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(loginRateLimiter.tryAcquireForUsername(null)).isTrue();
+            assertThat(loginRateLimiter.tryAcquireForUsername(" ")).isTrue();
+        }
+    }
+
+    //sweep 이 같이 돌아도 허용 횟수가 capacity 를 넘지 않는다
+    @Test
+    public void sweep_중에도_허용량_유지() throws Exception {
+        int capacity = 100;
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter(capacity, 3600, 100, 60);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread sweeper = new Thread(() -> {
+            while (running.get()) {
+                loginRateLimiter.sweep();
+            }
+        });
+        sweeper.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger allowed = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 50; j++) {
+                    if (loginRateLimiter.tryAcquireForUsername("username")) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        sweeper.join();
+        executor.shutdown();
+
+        assertThat(allowed.get()).isEqualTo(capacity);
+
+        loginRateLimiter.sweep();
+        assertThat(loginRateLimiter.tryAcquireForUsername("username")).isFalse();
+    }
+}
@@ -3,6 +3,7 @@ package board.example.myboard.domain.login;
 import board.example.myboard.domain.member.Member;
 import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.support.TestProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,7 +35,7 @@ import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @AutoConfigureMockMvc
 
 public class LoginTest {
@@ -168,4 +169,40 @@ public class LoginTest {
                 .andDo(print())
                 .andExpect(status().isNotFound());
     }
+
+    //로그인 본문은 4KiB 까지만 읽는다
+    @Test
+    public void 로그인_본문이_4KiB_를_넘으면_413() throws Exception {
+        Map<String, String> map = getUsernamePasswordMap(USERNAME, "a".repeat(5 * 1024));
+
+        MvcResult result = perform(LOGIN_URL, APPLICATION_JSON, map)
+                .andExpect(status().isPayloadTooLarge())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(accessHeader)).isNull();
+    }
+
+    @Test
+    public void 로그인_Content_Type_이_JSON_이_아니면_400() throws Exception {
+        Map<String, String> map = getUsernamePasswordMap(USERNAME, PASSWORD);
+
+        MvcResult result = perform(LOGIN_URL, APPLICATION_FORM_URLENCODED, map)
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        assertThat(result.getResponse().getHeader(accessHeader)).isNull();
+    }
+
+    @Test
+    public void 로그인_JSON_형식이_틀리면_400() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post(LOGIN_URL)
+                        .contentType(APPLICATION_JSON)
+                        .content("{\"username\": \"" + USERNAME + "\", \"password\": "))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(MockMvcRequestBuilders.post(LOGIN_URL)
+                        .contentType(APPLICATION_JSON)
+                        .content("[\"" + USERNAME + "\", \"" + PASSWORD + "\"]"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,44 @@
+package board.example.myboard.domain.passwordEncoding;
+
+import board.example.myboard.global.password.BcryptStrengthCalibrator;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.*;
+
+//password-hash.strength 를 정하면 모든 노드가 같은 strength 를 쓰고 낮은 해시만 다시 해싱한다
+@SpringBootTest(properties = {TestProperties.SEARCH_INDEX_DIR, "password-hash.strength=5"})
+public class FleetWidePasswordStrengthTest {
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    String password = "남아연skadkdus";
+
+    @Test
+    public void 설정한_strength_로_암호화() throws Exception {
+        String encode = passwordEncoder.encode(password);
+
+        assertThat(encode).startsWith("{bcrypt}$2a$05$");
+        assertThat(passwordEncoder.upgradeEncoding(encode)).isFalse();
+    }
+
+    @Test
+    public void 낮은_strength_만_다시_해싱() throws Exception {
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(password);
+        String stronger = "{bcrypt}" + new BCryptPasswordEncoder(6).encode(password);
+
+        assertThat(passwordEncoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(stronger)).isFalse();
+    }
+
+    @Test
+    public void 측정한_strength_는_범위_안으로() throws Exception {
+        assertThat(BcryptStrengthCalibrator.calibrate(1, 4, 6)).isEqualTo(4);
+        assertThat(BcryptStrengthCalibrator.calibrate(1_000_000, 4, 6)).isEqualTo(6);
+    }
+}
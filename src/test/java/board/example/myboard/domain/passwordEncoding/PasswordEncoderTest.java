@@ -1,16 +1,18 @@
 package board.example.myboard.domain.passwordEncoding;
 
+import board.example.myboard.support.TestProperties;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.assertj.core.api.Assertions.*;
 
 @Transactional
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 public class PasswordEncoderTest {
 
     @Autowired
@@ -46,4 +48,18 @@ public class PasswordEncoderTest {
 
 
     }
+
+    //password-hash.strength 가 0 이면 노드 사이의 strength 차이로는 다시 해싱하지 않고, min-strength 보다 낮은 해시만 다시 해싱한다
+    @Test
+    public void 장비에_맞춘_strength_는_하한보다_낮은_해시만_다시_해싱() throws Exception {
+        String password = "남아연skadkdus";
+        String weaker = "{bcrypt}" + new BCryptPasswordEncoder(4).encode(password);
+        String atMinStrength = "{bcrypt}" + new BCryptPasswordEncoder(10).encode(password);
+
+        assertThat(passwordEncoder.matches(password, weaker)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(atMinStrength)).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(passwordEncoder.encode(password))).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding("{noop}" + password)).isTrue();
+    }
 }
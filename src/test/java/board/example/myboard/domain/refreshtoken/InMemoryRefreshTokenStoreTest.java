@@ -0,0 +1,77 @@
+package board.example.myboard.domain.refreshtoken;
+
+import board.example.myboard.domain.refreshtoken.store.InMemoryRefreshTokenStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class InMemoryRefreshTokenStoreTest {
+
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+
+    @Test
+    public void 저장_조회() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        store.save("hash1", "username", now.plusMinutes(1));
+        store.save("hash2", "username", now.plusMinutes(1));
+
+        assertThat(store.findUsername("hash1", now)).contains("username");
+        assertThat(store.findUsername("hash2", now)).contains("username");
+        assertThat(store.findUsername("hash3", now)).isEmpty();
+    }
+
+    @Test
+    public void 회원단위_삭제() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        store.save("hash1", "username", now.plusMinutes(1));
+        store.save("hash2", "username", now.plusMinutes(1));
+        store.save("hash3", "other", now.plusMinutes(1));
+
+        store.deleteAllByUsername("username");
+
+        assertThat(store.findUsername("hash1", now)).isEmpty();
+        assertThat(store.findUsername("hash2", now)).isEmpty();
+        assertThat(store.findUsername("hash3", now)).contains("other");
+    }
+
+    @Test
+    public void 만료된_토큰_정리() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+
+        store.save("expired", "username", now.minusSeconds(1));
+        store.save("alive", "username", now.plusMinutes(1));
+
+        assertThat(store.findUsername("expired", now)).isEmpty();
+        assertThat(store.deleteExpired(now)).isEqualTo(1);
+        assertThat(store.findUsername("alive", now)).contains("username");
+    }
+
+    //저장과 회원 단위 삭제가 겹쳐도 인덱스에서 빠진 토큰이 남지 않는다
+    @Test
+    public void 저장과_회원단위_삭제가_동시에() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        int count = 2_000;
+
+        CompletableFuture<Void> saving = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < count; i++) {
+                store.save("hash" + i, "username", now.plusMinutes(1));
+            }
+        });
+        while (!saving.isDone()) {
+            store.deleteAllByUsername("username");
+        }
+        saving.get(10, TimeUnit.SECONDS);
+
+        store.deleteAllByUsername("username");
+
+        for (int i = 0; i < count; i++) {
+            assertThat(store.findUsername("hash" + i, now)).isEmpty();
+        }
+    }
+}
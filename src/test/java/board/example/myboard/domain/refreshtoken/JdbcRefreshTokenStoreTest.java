@@ -0,0 +1,79 @@
+package board.example.myboard.domain.refreshtoken;
+
+import board.example.myboard.domain.refreshtoken.store.JdbcRefreshTokenStore;
+import board.example.myboard.domain.refreshtoken.store.RefreshTokenStore;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {TestProperties.SEARCH_INDEX_DIR, "jwt.refresh.store=jdbc"})
+@Transactional
+public class JdbcRefreshTokenStoreTest {
+
+    @Autowired
+    RefreshTokenStore store;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    void clear() {
+        jdbcTemplate.update("delete from refresh_token");
+    }
+
+    @Test
+    public void jdbc_저장소_사용() throws Exception {
+        assertThat(store).isInstanceOf(JdbcRefreshTokenStore.class);
+    }
+
+    @Test
+    public void 저장_조회() throws Exception {
+        store.save("hash1", "username", now.plusMinutes(1));
+
+        assertThat(store.findUsername("hash1", now)).contains("username");
+        assertThat(store.findUsername("hash2", now)).isEmpty();
+    }
+
+    //같은 해시로 다시 저장하면 (merge) 행을 덮어쓴다
+    @Test
+    public void 같은_해시는_덮어쓰기() throws Exception {
+        store.save("hash1", "username", now.minusSeconds(1));
+        store.save("hash1", "other", now.plusMinutes(1));
+
+        assertThat(store.findUsername("hash1", now)).contains("other");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from refresh_token", Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    public void 회원단위_삭제() throws Exception {
+        store.save("hash1", "username", now.plusMinutes(1));
+        store.save("hash2", "username", now.plusMinutes(1));
+        store.save("hash3", "other", now.plusMinutes(1));
+
+        store.deleteAllByUsername("username");
+
+        assertThat(store.findUsername("hash1", now)).isEmpty();
+        assertThat(store.findUsername("hash2", now)).isEmpty();
+        assertThat(store.findUsername("hash3", now)).contains("other");
+    }
+
+    @Test
+    public void 만료된_토큰_정리() throws Exception {
+        store.save("expired", "username", now.minusSeconds(1));
+        store.save("alive", "username", now.plusMinutes(1));
+
+        assertThat(store.findUsername("expired", now)).isEmpty();
+        assertThat(store.deleteExpired(now)).isEqualTo(1);
+        assertThat(store.findUsername("alive", now)).contains("username");
+    }
+}
@@ -4,6 +4,7 @@ import board.example.myboard.domain.member.Member;
 import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.repository.MemberRepository;
 import board.example.myboard.global.jwt.service.JwtService;
+import board.example.myboard.support.TestProperties;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -34,7 +35,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @AutoConfigureMockMvc
 @Transactional
 public class JwtFilterAuthenticationTest {
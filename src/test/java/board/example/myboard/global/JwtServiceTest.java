@@ -5,6 +5,7 @@ import board.example.myboard.domain.member.Member;
 import board.example.myboard.domain.member.Role;
 import board.example.myboard.domain.repository.MemberRepository;
 import board.example.myboard.global.jwt.service.JwtService;
+import board.example.myboard.support.TestProperties;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
@@ -28,7 +29,7 @@ import static com.auth0.jwt.algorithms.Algorithm.HMAC512;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
 @Transactional
 public class JwtServiceTest {
 
@@ -128,7 +129,7 @@ public class JwtServiceTest {
         assertThat(findUsername).isNull();
     }
 
-    //Refresh Update
+    //Refresh Update - 회원당 여러 개의 RefreshToken 을 유지
     @Test
     public void updateRefreshToken_refreshToken_업데이트() throws Exception {
 
@@ -136,17 +137,17 @@ public class JwtServiceTest {
                 jwtService.updateRefreshToken(username, refreshToken);
 
                 clear();
-                Thread.sleep(3000);
 
                 String reIssuedRefreshToken = jwtService.createRefreshToken();
                 jwtService.updateRefreshToken(username, reIssuedRefreshToken);
                 clear();
 
-                assertThrows(Exception.class,
-                () -> memberRepository.findByRefreshToken(refreshToken).get());
+                assertThat(refreshToken).isNotEqualTo(reIssuedRefreshToken);
 
-                assertThat(memberRepository.findByRefreshToken
-                        (reIssuedRefreshToken).get().getUsername()).isEqualTo(username);
+                assertThat(jwtService.findUsernameByRefreshToken(refreshToken).get()).isEqualTo(username);
+
+                assertThat(jwtService.findUsernameByRefreshToken
+                        (reIssuedRefreshToken).get()).isEqualTo(username);
     }
 
     //Refresh Destroy
@@ -159,10 +160,7 @@ public class JwtServiceTest {
         jwtService.destroyRefreshToken(username);
         clear();
 
-        assertThrows(Exception.class,() -> memberRepository.findByRefreshToken(refreshToken).get());
-
-        Member member = memberRepository.findByUsername(username).get();
-        assertThat(member.getRefreshToken()).isNull();
+        assertThat(jwtService.findUsernameByRefreshToken(refreshToken)).isEmpty();
     }
 
     //토큰유효성 검사 테스트
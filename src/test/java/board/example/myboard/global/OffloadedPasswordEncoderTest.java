@@ -0,0 +1,158 @@
+package board.example.myboard.global;
+
+import board.example.myboard.global.password.OffloadedPasswordEncoder;
+import board.example.myboard.global.password.PasswordHashingRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class OffloadedPasswordEncoderTest {
+
+    //release 가 열릴 때까지 해싱이 끝나지 않는 encoder
+    private static PasswordEncoder blockingEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "encoded";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    //bcrypt 처럼 인터럽트를 무시하고 release 가 열릴 때까지 끝나지 않는 encoder//
+    private static PasswordEncoder uninterruptibleEncoder(CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                while (true) {
+                    try {
+                        release.await();
+                        return "encoded";
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private static double gauge(SimpleMeterRegistry registry, String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    @Test
+    public void 대기_큐가_가득_차면_바로_거절() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(blockingEncoder(release), 1, 1, 10_000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("password"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (gauge(registry, "password.hash.active") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("password"));
+        while (gauge(registry, "password.hash.queue.depth") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("password"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessage("비밀번호 처리 요청이 너무 많습니다.");
+        assertThat(registry.get("password.hash.rejected").functionCounter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("encoded");
+        assertThat(registry.get("password.hash").functionTimer().count()).isEqualTo(2);
+
+        encoder.destroy();
+    }
+
+    @Test
+    public void 제한_시간을_넘기면_거절() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(blockingEncoder(release), 1, 1, 50);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        assertThatThrownBy(() -> encoder.matches("password", "encoded"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessage("비밀번호 처리 시간이 초과되었습니다.");
+        assertThat(registry.get("password.hash.rejected").functionCounter().count()).isEqualTo(1);
+
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    public void 해싱_결과는_그대로() throws Exception {
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(blockingEncoder(new CountDownLatch(0)), 2, 4, 5_000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        assertThat(encoder.encode("password")).isEqualTo("encoded");
+        assertThat(encoder.matches("password", "encoded")).isTrue();
+        assertThat(registry.get("password.hash").functionTimer().count()).isEqualTo(2);
+        assertThat(registry.get("password.hash.wait").functionTimer().count()).isEqualTo(2);
+
+        encoder.destroy();
+    }
+
+    //시간이 초과된 요청은 큐에서 빠지고 실행되지 않는다
+    @Test
+    public void 시간이_초과되면_큐에서_빼고_실행하지_않음() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OffloadedPasswordEncoder encoder = new OffloadedPasswordEncoder(uninterruptibleEncoder(release), 1, 1, 200);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+
+        CompletableFuture<Throwable> running = CompletableFuture.supplyAsync(() -> {
+            try {
+                encoder.encode("password");
+                return null;
+            } catch (PasswordHashingRejectedException e) {
+                return e;
+            }
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (gauge(registry, "password.hash.active") < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("password"))
+                .isInstanceOf(PasswordHashingRejectedException.class)
+                .hasMessage("비밀번호 처리 시간이 초과되었습니다.");
+        assertThat(gauge(registry, "password.hash.queue.depth")).isZero();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isInstanceOf(PasswordHashingRejectedException.class);
+
+        release.countDown();
+        deadline = System.currentTimeMillis() + 5_000;
+        while (gauge(registry, "password.hash.active") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(registry.get("password.hash").functionTimer().count()).isEqualTo(1);
+
+        encoder.destroy();
+    }
+}
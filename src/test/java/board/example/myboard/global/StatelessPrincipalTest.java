@@ -0,0 +1,154 @@
+package board.example.myboard.global;
+
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.domain.service.MemberService;
+import board.example.myboard.domain.service.TokenVersionRegistry;
+import board.example.myboard.support.TestProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//토큰의 클레임으로 인증하고, 토큰 버전은 member 테이블 기준으로 확인
+@SpringBootTest(properties = {TestProperties.SEARCH_INDEX_DIR, "jwt.stateless-principal.enabled=true"})
+@AutoConfigureMockMvc
+@Transactional
+public class StatelessPrincipalTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    MemberService memberService;
+
+    @Autowired
+    EntityManager em;
+
+    PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${jwt.access.header}")
+    private String accessHeader;
+
+    private static String USERNAME = "username";
+    private static String PASSWORD = "12345677";
+
+    private static String LOGIN_URL = "/login";
+
+    private static final String BEARER = "Bearer";
+
+    private void clear() {
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void removeAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Member saveMember() {
+        Member member = memberRepository.save(Member.builder().username(USERNAME).password(passwordEncoder.encode(PASSWORD))
+                .name("MEMBER1").nickname("Nickname1").role(Role.USER).age(30).build());
+        clear();
+        return member;
+    }
+
+    private String login() throws Exception {
+        return mockMvc.perform(post(LOGIN_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", USERNAME, "password", PASSWORD))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(accessHeader);
+    }
+
+    //인증되면 없는 주소라 404, 인증되지 않으면 403
+    private void assertAuthenticated(String accessToken, boolean authenticated) throws Exception {
+        mockMvc.perform(get(LOGIN_URL + "123").header(accessHeader, BEARER + accessToken))
+                .andExpect(authenticated ? status().isNotFound() : status().isForbidden());
+    }
+
+    @Test
+    public void 토큰_클레임으로_인증() throws Exception {
+        saveMember();
+
+        assertAuthenticated(login(), true);
+    }
+
+    @Test
+    public void 권한이_바뀌면_이전_토큰_거부() throws Exception {
+        Member member = saveMember();
+        String accessToken = login();
+
+        memberService.updateRole(member.getId(), Role.ADMIN);
+        clear();
+
+        assertAuthenticated(accessToken, false);
+        assertAuthenticated(login(), true);
+    }
+
+    //탈퇴한 회원의 토큰은 거부하고, 같은 아이디로 다시 가입한 회원은 영향을 받지 않는다
+    @Test
+    public void 탈퇴하면_이전_토큰_거부_재가입은_영향_없음() throws Exception {
+        saveMember();
+        String accessToken = login();
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(User.builder()
+                .username(USERNAME).password(PASSWORD).roles(Role.USER.name()).build(), null, null));
+        SecurityContextHolder.setContext(context);
+        memberService.withdraw(PASSWORD);
+        SecurityContextHolder.clearContext();
+        clear();
+
+        assertAuthenticated(accessToken, false);
+
+        saveMember();
+        assertAuthenticated(login(), true);
+    }
+
+    //다른 노드에서 올린 버전은 캐시 TTL 이 지나야 반영된다
+    @Test
+    public void 다른_노드의_변경은_TTL_이후_반영() throws Exception {
+        Member member = saveMember();
+        TokenVersionRegistry cached = new TokenVersionRegistry(memberRepository, 60, 100);
+        TokenVersionRegistry expired = new TokenVersionRegistry(memberRepository, 0, 100);
+        assertThat(cached.isCurrent(member.getId(), 0)).isTrue();
+
+        em.createQuery("update Member m set m.tokenVersion = m.tokenVersion + 1 where m.id = :id")
+                .setParameter("id", member.getId()).executeUpdate();
+
+        assertThat(cached.isCurrent(member.getId(), 0)).isTrue();
+        assertThat(expired.isCurrent(member.getId(), 0)).isFalse();
+        assertThat(expired.isCurrent(member.getId(), 1)).isTrue();
+
+        cached.invalidate(member.getId());
+        assertThat(cached.isCurrent(member.getId(), 0)).isFalse();
+    }
+}
@@ -0,0 +1,49 @@
+package board.example.myboard.global;
+
+import board.example.myboard.global.jpa.TextCompression;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class TextCompressionTest {
+
+    @Test
+    public void 큰_본문은_압축() throws Exception {
+        String content = "게시글 본문 내용입니다. ".repeat(500);
+
+        byte[] stored = TextCompression.encode(content);
+
+        assertThat(TextCompression.isCompressed(stored)).isTrue();
+        assertThat(stored.length).isLessThan(content.getBytes(StandardCharsets.UTF_8).length / 4);
+        assertThat(TextCompression.decode(stored)).isEqualTo(content);
+
+        try (InputStream in = TextCompression.decodingStream(new ByteArrayInputStream(stored))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void 작은_본문은_압축하지_않음() throws Exception {
+        String content = "짧은 본문";
+
+        byte[] stored = TextCompression.encode(content);
+
+        assertThat(TextCompression.isCompressed(stored)).isFalse();
+        assertThat(TextCompression.decode(stored)).isEqualTo(content);
+        assertThat(TextCompression.decode(TextCompression.encode(""))).isEmpty();
+    }
+
+    @Test
+    public void 헤더_없는_예전_본문도_읽기() throws Exception {
+        byte[] legacy = "예전에 저장된 본문".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(TextCompression.decode(legacy)).isEqualTo("예전에 저장된 본문");
+        try (InputStream in = TextCompression.decodingStream(new ByteArrayInputStream(legacy))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("예전에 저장된 본문");
+        }
+    }
+}
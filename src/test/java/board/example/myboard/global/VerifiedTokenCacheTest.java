@@ -0,0 +1,63 @@
+package board.example.myboard.global;
+
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.global.jwt.cache.VerifiedTokenCache;
+import board.example.myboard.global.jwt.dto.DecodedToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class VerifiedTokenCacheTest {
+
+    private DecodedToken decodedToken(long expiresInMillis) {
+        return new DecodedToken(true, "username", new Date(System.currentTimeMillis() + expiresInMillis),
+                1L, Role.USER, 0);
+    }
+
+    @Test
+    public void 검증된_토큰_캐시_히트() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+
+        assertThat(cache.get("token")).isEmpty();
+
+        cache.put("token", decodedToken(60_000));
+
+        assertThat(cache.get("token").get().username()).isEqualTo("username");
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void 유효하지_않은_토큰은_캐시하지_않음() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+
+        cache.put("token", DecodedToken.invalid());
+
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    public void 만료된_토큰은_제거() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100);
+
+        cache.put("token", decodedToken(-1));
+
+        assertThat(cache.get("token")).isEmpty();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void 최대크기를_넘으면_LRU_제거() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(16);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put("token" + i, decodedToken(60_000));
+        }
+
+        assertThat(cache.stats().size()).isLessThanOrEqualTo(16);
+        assertThat(cache.stats().evictionCount()).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,60 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.post.attachment.AttachmentStore;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class AttachmentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void 같은_내용은_한_번만_저장() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.toString());
+        byte[] content = "첨부파일 내용".repeat(1000).getBytes(StandardCharsets.UTF_8);
+
+        StoredAttachment first = store.store(new ByteArrayInputStream(content));
+        StoredAttachment second = store.store(new ByteArrayInputStream(content));
+
+        assertThat(first.hash()).hasSize(64).isEqualTo(second.hash());
+        assertThat(first.size()).isEqualTo(content.length);
+        assertThat(Files.readAllBytes(first.path())).isEqualTo(content);
+        try (var temp = Files.list(directory.resolve("tmp"))) {
+            assertThat(temp).isEmpty();
+        }
+        assertThat(store.find(first.hash())).contains(first);
+    }
+
+    @Test
+    public void 구간_전송() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.toString());
+        byte[] content = "0123456789".getBytes(StandardCharsets.UTF_8);
+        StoredAttachment attachment = store.store(new ByteArrayInputStream(content));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long transferred = AttachmentStore.transferTo(attachment.path(), 3, 4, Channels.newChannel(out));
+
+        assertThat(transferred).isEqualTo(4);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+    }
+
+    @Test
+    public void hash_형식이_아니면_찾지_않음() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.toString());
+
+        assertThat(store.find("filePath")).isEmpty();
+        assertThat(store.find("../../etc/passwd")).isEmpty();
+        assertThat(store.find("a".repeat(64))).isEmpty();
+    }
+}
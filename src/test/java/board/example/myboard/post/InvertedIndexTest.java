@@ -0,0 +1,68 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.post.search.InvertedIndex;
+import board.example.myboard.domain.post.search.SearchResult;
+import board.example.myboard.domain.post.search.SearchTokenizer;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class InvertedIndexTest {
+
+    @Test
+    public void 한글은_bigram_으로_분리() throws Exception {
+        assertThat(SearchTokenizer.tokenize("게시판에서 JPA로")).containsExactly("게시", "시판", "판에", "에서", "jpa", "로");
+    }
+
+    @Test
+    public void 모든_검색어를_포함하는_게시글만_조회() throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1L, "스프링 게시판", "JPA 로 만든 게시판");
+        index.add(2L, "스프링 시큐리티", "JWT 로그인");
+        index.add(3L, "자유 게시판", "잡담");
+
+        SearchResult result = index.search("게시판 스프링", 0, 10);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.hits()).extracting(SearchResult.Hit::postId).containsExactly(1L);
+    }
+
+    //제목에 있는 단어가 본문에만 있는 경우보다 점수가 높다
+    @Test
+    public void 제목_일치가_우선() throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1L, "잡담", "오늘 점심은 kotlin 으로 먹었다");
+        index.add(2L, "kotlin 질문", "질문이 있습니다");
+
+        SearchResult result = index.search("kotlin", 0, 10);
+
+        assertThat(result.hits()).extracting(SearchResult.Hit::postId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void 수정_삭제_반영() throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        index.add(1L, "java", "spring");
+        index.add(2L, "java", "boot");
+
+        index.add(1L, "kotlin", "spring");
+        index.remove(2L);
+
+        assertThat(index.search("java", 0, 10).total()).isZero();
+        assertThat(index.search("kotlin", 0, 10).hits()).extracting(SearchResult.Hit::postId).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void 페이지_조회() throws Exception {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 1; id <= 25; id++) {
+            index.add(id, "공지 " + id, "내용");
+        }
+
+        SearchResult page = index.search("공지", 20, 10);
+
+        assertThat(page.total()).isEqualTo(25);
+        assertThat(page.hits()).hasSize(5);
+    }
+}
@@ -0,0 +1,146 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.post.attachment.AttachmentStore;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//업로드는 트랜잭션 밖에서 파일을 받고 짧은 트랜잭션으로 반영하므로 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = {TestProperties.SEARCH_INDEX_DIR, "post.attachment.dir=build/test-attachments",
+        "post.attachment.thumbnail.dir=build/test-thumbnails"})
+@AutoConfigureMockMvc
+@WithMockUser(username = PostAttachmentControllerTest.WRITER)
+public class PostAttachmentControllerTest {
+
+    static final String WRITER = "writer";
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    AttachmentStore attachmentStore;
+
+    @Autowired
+    ApplicationContext context;
+
+    @AfterEach
+    void cleanUp() {
+        TestDatabase.cleanUp(context);
+    }
+
+    private Post savePost() {
+        Member writer = memberRepository.save(Member.builder().username(WRITER).password("1234567890")
+                .name("MEMBER1").nickname("Nickname1").role(Role.USER).age(30).build());
+        return postRepository.save(Post.builder().writer(writer).title("제목").content("내용").filePath("filePath").build());
+    }
+
+    private StoredAttachment storeContent() throws Exception {
+        return attachmentStore.store(new ByteArrayInputStream(CONTENT));
+    }
+
+    @Test
+    public void 작성자가_업로드하고_다운로드() throws Exception {
+        Post post = savePost();
+
+        String hash = mockMvc.perform(multipart("/post/{postId}/attachment", post.getId())
+                        .file(new MockMultipartFile("file", "file.txt", "text/plain", CONTENT)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(postRepository.findFilePathById(post.getId())).contains(hash);
+        mockMvc.perform(get("/post/{postId}/attachment", post.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + hash + "\""))
+                .andExpect(content().bytes(CONTENT));
+    }
+
+    @Test
+    @WithMockUser(username = "other")
+    public void 작성자가_아니면_업로드_거부() throws Exception {
+        Post post = savePost();
+
+        assertThatThrownBy(() -> mockMvc.perform(multipart("/post/{postId}/attachment", post.getId())
+                .file(new MockMultipartFile("file", "file.txt", "text/plain", CONTENT))))
+                .hasRootCauseMessage("작성자만 첨부파일을 올릴 수 있습니다.");
+
+        assertThat(postRepository.findFilePathById(post.getId())).contains("filePath");
+    }
+
+    @Test
+    public void 구간_요청은_206() throws Exception {
+        StoredAttachment attachment = storeContent();
+
+        mockMvc.perform(get("/attachment/{hash}", attachment.hash()).header(HttpHeaders.RANGE, "bytes=3-6"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 3-6/10"))
+                .andExpect(content().bytes("3456".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void 범위를_벗어난_구간은_416() throws Exception {
+        StoredAttachment attachment = storeContent();
+
+        mockMvc.perform(get("/attachment/{hash}", attachment.hash()).header(HttpHeaders.RANGE, "bytes=20-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+
+    @Test
+    public void ETag_가_같으면_304() throws Exception {
+        StoredAttachment attachment = storeContent();
+
+        mockMvc.perform(get("/attachment/{hash}", attachment.hash())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + attachment.hash() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    //If-Range 가 현재 ETag 와 다르면 Range 를 무시하고 전체를 보낸다
+    @Test
+    public void If_Range_가_다르면_전체() throws Exception {
+        StoredAttachment attachment = storeContent();
+
+        mockMvc.perform(get("/attachment/{hash}", attachment.hash())
+                        .header(HttpHeaders.RANGE, "bytes=3-6")
+                        .header(HttpHeaders.IF_RANGE, "\"old\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(CONTENT));
+
+        mockMvc.perform(get("/attachment/{hash}", attachment.hash())
+                        .header(HttpHeaders.RANGE, "bytes=3-6")
+                        .header(HttpHeaders.IF_RANGE, "\"" + attachment.hash() + "\""))
+                .andExpect(status().isPartialContent());
+    }
+}
@@ -0,0 +1,90 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.service.PostBodyRecompressor;
+import board.example.myboard.global.jpa.TextCompression;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import javax.transaction.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+@Transactional
+public class PostBodyRecompressorTest {
+
+    private static final String CONTENT = "압축되지 않은 예전 본문입니다. ".repeat(100);
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    EntityManager em;
+
+    //압축 도입 전처럼 헤더 없는 UTF-8 로 저장된 본문을 만든다//
+    private Long saveUncompressedBody() {
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        em.flush();
+        em.clear();
+
+        Long bodyId = jdbcTemplate.queryForObject("select body_id from post where post_id = ?", Long.class, post.getId());
+        jdbcTemplate.update("update post_body set content = ? where post_body_id = ?",
+                CONTENT.getBytes(StandardCharsets.UTF_8), bodyId);
+        return bodyId;
+    }
+
+    private byte[] storedContent(Long bodyId) {
+        return jdbcTemplate.queryForObject("select content from post_body where post_body_id = ?", byte[].class, bodyId);
+    }
+
+    @Test
+    public void 압축되지_않은_본문_압축() throws Exception {
+        Long bodyId = saveUncompressedBody();
+
+        new PostBodyRecompressor(jdbcTemplate, true, 200).recompressNextBatch();
+
+        byte[] stored = storedContent(bodyId);
+        assertThat(TextCompression.isCompressed(stored)).isTrue();
+        assertThat(TextCompression.decode(stored)).isEqualTo(CONTENT);
+    }
+
+    //읽은 뒤 사용자가 본문을 수정했으면 예전 본문으로 덮어쓰지 않는다
+    @Test
+    public void 읽은_뒤_수정된_본문은_덮어쓰지_않음() throws Exception {
+        Long bodyId = saveUncompressedBody();
+        byte[] edited = TextCompression.encode("사용자가 수정한 본문");
+
+        //배치를 읽은 직후에 수정이 커밋된 것처럼//
+        JdbcTemplate editingJdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+                List<T> rows = super.query(sql, rowMapper, args);
+                update("update post_body set content = ?, last_modified_date = ? where post_body_id = ?",
+                        edited, Timestamp.valueOf(LocalDateTime.now()), bodyId);
+                return rows;
+            }
+        };
+
+        new PostBodyRecompressor(editingJdbcTemplate, true, 200).recompressNextBatch();
+
+        assertThat(storedContent(bodyId)).isEqualTo(edited);
+    }
+}
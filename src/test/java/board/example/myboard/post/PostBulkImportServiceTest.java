@@ -0,0 +1,82 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.repository.CommentRepository;
+import board.example.myboard.domain.post.dto.LegacyCommentDto;
+import board.example.myboard.domain.post.dto.LegacyPostDto;
+import board.example.myboard.domain.post.dto.PostPageDto;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.service.PostBulkImportService;
+import board.example.myboard.domain.post.service.PostService;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+//chunk 마다 커밋되는지 보려고 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+public class PostBulkImportServiceTest {
+
+    @Autowired
+    PostBulkImportService postBulkImportService;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    CommentRepository commentRepository;
+
+    @Autowired
+    ApplicationContext context;
+
+    @AfterEach
+    void cleanUp() {
+        TestDatabase.cleanUp(context);
+    }
+
+    private List<LegacyPostDto> legacyPosts(int count) {
+        List<LegacyPostDto> posts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            LegacyCommentDto reply = new LegacyCommentDto(null, "대댓글" + i, List.of());
+            LegacyCommentDto comment = new LegacyCommentDto(null, "댓글" + i, List.of(reply));
+            posts.add(new LegacyPostDto(null, "제목" + i, "내용" + i, "filePath", List.of(comment)));
+        }
+        return posts;
+    }
+
+    //chunk 크기보다 많은 게시글을 댓글/대댓글과 함께 등록
+    @Test
+    public void 게시글_일괄등록() throws Exception {
+        int imported = postBulkImportService.importPosts(legacyPosts(120));
+
+        assertThat(imported).isEqualTo(120);
+        assertThat(postRepository.count()).isEqualTo(120);
+        assertThat(commentRepository.count()).isEqualTo(240);
+
+        PostPageDto page = postService.findPage(null, null, 10);
+        assertThat(page.posts()).allSatisfy(post -> assertThat(post.commentCount()).isEqualTo(2));
+    }
+
+    //실패한 chunk 만 롤백되고 앞의 chunk 는 커밋된 채로 남는다 (chunk-size: 50)
+    @Test
+    public void 실패한_chunk만_롤백() throws Exception {
+        List<LegacyPostDto> posts = legacyPosts(120);
+        //제목은 40자까지//
+        posts.set(110, new LegacyPostDto(null, "제".repeat(41), "내용", "filePath", List.of()));
+
+        assertThatThrownBy(() -> postBulkImportService.importPosts(posts)).isInstanceOf(RuntimeException.class);
+
+        assertThat(postRepository.count()).isEqualTo(100);
+        assertThat(commentRepository.count()).isEqualTo(200);
+    }
+}
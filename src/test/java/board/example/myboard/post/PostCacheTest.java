@@ -0,0 +1,134 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.member.Member;
+import board.example.myboard.domain.member.Role;
+import board.example.myboard.domain.post.dto.PostSummaryDto;
+import board.example.myboard.domain.post.repository.PostCounterRepository;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.service.PostService;
+import board.example.myboard.domain.repository.MemberRepository;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+//2차 캐시는 커밋된 뒤에 반영되므로 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+public class PostCacheTest {
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    PostCounterRepository postCounterRepository;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    @AfterEach
+    void cleanUp() {
+        TestDatabase.cleanUp(context);
+    }
+
+    private Post savePost(Member writer) {
+        return postRepository.save(Post.builder().writer(writer).title("제목").content("내용").filePath("filePath").build());
+    }
+
+    private PostSummaryDto firstOfPage() {
+        return postService.findPage(null, null, 10).posts().get(0);
+    }
+
+    private boolean cached(Long postId) {
+        return entityManagerFactory.getCache().contains(Post.class, postId);
+    }
+
+    @Test
+    public void 조회수_반영하면_게시글_캐시_비움() throws Exception {
+        Post post = savePost(null);
+        postRepository.findById(post.getId());
+        assertThat(cached(post.getId())).isTrue();
+
+        postCounterRepository.addViewCounts(Map.of(post.getId(), 3L));
+
+        assertThat(cached(post.getId())).isFalse();
+        assertThat(postRepository.findById(post.getId()).get().getViewCount()).isEqualTo(3);
+    }
+
+    //트랜잭션 안에서 바꾸면 커밋 후에 한 번 더 비운다
+    @Test
+    public void 댓글수_반영하면_커밋_후_캐시_비움() throws Exception {
+        Post post = savePost(null);
+        postRepository.findById(post.getId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            postCounterRepository.addCommentCount(post.getId(), 1);
+            postRepository.findById(post.getId());
+        });
+
+        assertThat(cached(post.getId())).isFalse();
+        assertThat(postRepository.findById(post.getId()).get().getCommentCount()).isEqualTo(1);
+    }
+
+    //카운터는 목록 쿼리 캐시에 없으므로 목록 캐시를 비우지 않아도 최신 값이 나온다
+    @Test
+    public void 목록의_카운터는_항상_최신() throws Exception {
+        Post post = savePost(null);
+        assertThat(firstOfPage().viewCount()).isZero();
+
+        postCounterRepository.addViewCounts(Map.of(post.getId(), 5L));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                postCounterRepository.addCommentCount(post.getId(), 2));
+
+        PostSummaryDto summary = firstOfPage();
+        assertThat(summary.viewCount()).isEqualTo(5);
+        assertThat(summary.commentCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void 게시글_수정하면_캐시_갱신() throws Exception {
+        Post post = savePost(null);
+        postRepository.findById(post.getId());
+        assertThat(firstOfPage().title()).isEqualTo("제목");
+
+        postService.update(post.getId(), "새 제목", null);
+
+        assertThat(firstOfPage().title()).isEqualTo("새 제목");
+        assertThat(postRepository.findById(post.getId()).get().getTitle()).isEqualTo("새 제목");
+    }
+
+    @Test
+    public void 작성자_닉네임_수정하면_목록_캐시_갱신() throws Exception {
+        Member writer = memberRepository.save(Member.builder().username("username").password("1234567890")
+                .name("MEMBER1").nickname("Nickname1").role(Role.USER).age(30).build());
+        savePost(writer);
+        assertThat(firstOfPage().writerNickname()).isEqualTo("Nickname1");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                memberRepository.findById(writer.getId()).get().updateNickname("Nickname2"));
+
+        assertThat(firstOfPage().writerNickname()).isEqualTo("Nickname2");
+    }
+}
@@ -0,0 +1,96 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import board.example.myboard.domain.post.search.SearchResult;
+import board.example.myboard.domain.post.service.PostService;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.*;
+
+//커밋된 삭제가 필요해서 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+public class PostSearchIndexerRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    @AfterEach
+    void cleanUp() {
+        TestDatabase.cleanUp(context);
+    }
+
+    //rebuild 를 몇 번 했는지 센다 (catch-up 만으로 복구됐는지 확인)//
+    private static class CountingIndexer extends PostSearchIndexer {
+
+        int rebuilds;
+
+        CountingIndexer(PostRepository postRepository, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager, String indexDir) {
+            super(postRepository, jdbcTemplate, transactionManager, false, 500, indexDir, 10);
+        }
+
+        @Override
+        public void rebuild() {
+            rebuilds++;
+            super.rebuild();
+        }
+    }
+
+    private CountingIndexer openIndexer() {
+        CountingIndexer indexer = new CountingIndexer(postRepository, jdbcTemplate, transactionManager, directory.toString());
+        indexer.afterSingletonsInstantiated();
+        return indexer;
+    }
+
+    //색인을 flush 하지 못하고 죽어도 그 사이 삭제된 게시글은 다시 열 때 삭제 기록으로 지워진다
+    @Test
+    public void flush_전에_삭제된_게시글_복구() throws Exception {
+        Post deleted = Post.builder().title("삭제될 게시글").content("내용").filePath("filePath").build();
+        Post kept = Post.builder().title("남을 게시글").content("내용").filePath("filePath").build();
+        postService.save(deleted);
+        postService.save(kept);
+
+        //저장된 색인이 없으므로 DB 에서 만들고 flush//
+        CountingIndexer first = openIndexer();
+        assertThat(first.rebuilds).isEqualTo(1);
+        first.close();
+
+        //이 색인이 모르는 사이에 (비정상 종료 후) 삭제//
+        postService.delete(deleted.getId());
+
+        CountingIndexer reopened = openIndexer();
+        SearchResult result = reopened.search("게시글", 0, 10);
+
+        assertThat(reopened.rebuilds).isZero();
+        assertThat(result.hits()).extracting(SearchResult.Hit::postId).containsExactly(kept.getId());
+        reopened.close();
+    }
+}
@@ -0,0 +1,201 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Comment;
+import board.example.myboard.domain.comment.service.CommentService;
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.dto.PostDocumentDto;
+import board.example.myboard.domain.post.dto.PostPageDto;
+import board.example.myboard.domain.post.dto.PostSummaryDto;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.service.PostService;
+import board.example.myboard.domain.post.service.PostViewCountBuffer;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+@Transactional
+public class PostServiceTest {
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    CommentService commentService;
+
+    @Autowired
+    PostViewCountBuffer postViewCountBuffer;
+
+    @Autowired
+    EntityManager em;
+
+    private void clear(){
+        em.flush();
+        em.clear();
+    }
+
+    private void savePosts(int count) {
+        for (int i = 0; i < count; i++) {
+            postRepository.save(Post.builder().title("제목" + i).content("내용" + i).filePath("filePath").build());
+        }
+        clear();
+    }
+
+    //커서를 따라가면 모든 게시글을 중복 없이 최신순으로 조회
+    @Test
+    public void keyset_페이징_전체조회() throws Exception {
+        savePosts(25);
+
+        List<PostSummaryDto> posts = new ArrayList<>();
+        PostPageDto page = postService.findPage(null, null, 10);
+        posts.addAll(page.posts());
+
+        while (page.hasNext()) {
+            page = postService.findPage(page.nextCreatedDate(), page.nextId(), 10);
+            posts.addAll(page.posts());
+        }
+
+        List<Long> ids = posts.stream().map(PostSummaryDto::id).toList();
+        assertThat(ids).hasSize(25);
+        assertThat(ids).doesNotHaveDuplicates();
+        //(작성일, id) 내림차순 - 같은 시각에 저장된 글은 id 가 큰 것이 먼저
+        assertThat(posts).isSortedAccordingTo(
+                Comparator.comparing(PostSummaryDto::createdDate).thenComparing(PostSummaryDto::id).reversed());
+        assertThat(ids).containsExactlyElementsOf(postRepository.findAll().stream()
+                .map(Post::getId).sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    public void 마지막_페이지는_hasNext_false() throws Exception {
+        savePosts(3);
+
+        PostPageDto page = postService.findPage(null, null, 10);
+
+        assertThat(page.posts()).hasSize(3);
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.posts().get(0).commentCount()).isZero();
+    }
+
+    //댓글 저장/삭제 시 게시글의 댓글 수가 함께 갱신
+    @Test
+    public void 댓글수_갱신() throws Exception {
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        Comment comment = Comment.builder().post(post).content("댓글").build();
+        commentService.save(comment);
+        commentService.save(Comment.builder().post(post).content("댓글2").build());
+        clear();
+
+        assertThat(postRepository.findById(post.getId()).get().getCommentCount()).isEqualTo(2);
+
+        commentService.remove(comment.getId());
+        clear();
+
+        assertThat(postRepository.findById(post.getId()).get().getCommentCount()).isEqualTo(1);
+    }
+
+    //조회수는 버퍼에 모였다가 flush 할 때 반영
+    @Test
+    public void 조회수_write_behind() throws Exception {
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        clear();
+
+        for (int i = 0; i < 3; i++) {
+            postService.findById(post.getId());
+        }
+        postViewCountBuffer.flushAll();
+        clear();
+
+        assertThat(postRepository.findById(post.getId()).get().getViewCount()).isEqualTo(3);
+    }
+
+    //목록에는 본문 앞부분만, 본문은 따로 스트리밍
+    @Test
+    public void 본문_미리보기와_스트리밍() throws Exception {
+        String content = "가".repeat(Post.PREVIEW_LENGTH * 50);
+        Post post = postRepository.save(Post.builder().title("제목").content(content).filePath("filePath").build());
+        clear();
+
+        PostPageDto page = postService.findPage(null, null, 10);
+        assertThat(page.posts().get(0).preview()).hasSize(Post.PREVIEW_LENGTH);
+
+        StringWriter out = new StringWriter();
+        postService.writeContent(post.getId(), out);
+        assertThat(out.toString()).isEqualTo(content);
+    }
+
+    //게시글을 읽은 뒤 카운터가 올라가도 수정 flush 가 카운터를 예전 값으로 덮어쓰지 않는다
+    @Test
+    public void 수정해도_카운터_유지() throws Exception {
+        Post saved = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        clear();
+
+        Post post = postRepository.findById(saved.getId()).get();
+
+        commentService.save(Comment.builder().post(post).content("댓글").build());
+        postService.findById(post.getId());
+        postService.findById(post.getId());
+        postViewCountBuffer.flushAll();
+
+        post.updateTitle("수정된 제목");
+        post.updateContent("수정된 내용");
+        clear();
+
+        Post found = postRepository.findById(post.getId()).get();
+        assertThat(found.getTitle()).isEqualTo("수정된 제목");
+        assertThat(found.getCommentCount()).isEqualTo(1);
+        assertThat(found.getViewCount()).isEqualTo(2);
+    }
+
+    //미리보기 뒤쪽만 바뀐 본문 수정도 검색 색인 catch-up 대상
+    @Test
+    public void 본문_뒷부분만_수정해도_catchUp_대상() throws Exception {
+        String content = "가".repeat(Post.PREVIEW_LENGTH * 2);
+        Post post = postRepository.save(Post.builder().title("제목").content(content).filePath("filePath").build());
+        clear();
+
+        LocalDateTime since = LocalDateTime.now();
+        Thread.sleep(10);
+        postService.update(post.getId(), null, content + "나");
+        clear();
+
+        List<PostDocumentDto> documents = postRepository.findDocumentsModifiedSince(since, 0L, PageRequest.of(0, 10));
+        assertThat(documents).extracting(PostDocumentDto::id).containsExactly(post.getId());
+        assertThat(documents.get(0).content()).endsWith("나");
+    }
+
+    //댓글과 대댓글이 달린 게시글 삭제 (대댓글 -> 댓글 -> 게시글 -> 본문 순서)
+    @Test
+    public void 대댓글이_달린_게시글_삭제() throws Exception {
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        Post other = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        Comment comment = Comment.builder().post(post).content("댓글").build();
+        commentService.save(comment);
+        commentService.save(Comment.builder().post(post).parent(comment).content("대댓글").build());
+        Comment remaining = Comment.builder().post(other).content("다른 게시글의 댓글").build();
+        commentService.save(remaining);
+        clear();
+
+        postService.delete(post.getId());
+        clear();
+
+        assertThat(postRepository.findById(post.getId())).isEmpty();
+        assertThat(em.createQuery("select c.id from Comment c", Long.class).getResultList())
+                .containsExactly(remaining.getId());
+        assertThat(em.createQuery("select count(b) from PostBody b", Long.class).getSingleResult()).isEqualTo(1);
+    }
+}
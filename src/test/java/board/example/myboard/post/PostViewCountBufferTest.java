@@ -0,0 +1,93 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.comment.service.Post;
+import board.example.myboard.domain.post.repository.PostCounterRepository;
+import board.example.myboard.domain.post.repository.PostRepository;
+import board.example.myboard.domain.post.service.PostViewCountBuffer;
+import board.example.myboard.support.TestDatabase;
+import board.example.myboard.support.TestProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+//반영 트랜잭션의 롤백을 보려고 테스트 트랜잭션 없이 실행하고, 끝나면 직접 지운다
+@SpringBootTest(properties = TestProperties.SEARCH_INDEX_DIR)
+public class PostViewCountBufferTest {
+
+    @Autowired
+    PostRepository postRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ApplicationContext context;
+
+    @AfterEach
+    void cleanUp() {
+        TestDatabase.cleanUp(context);
+    }
+
+    //fail 이 true 인 동안 반영하지 못한다//
+    private class FailingCounterRepository extends PostCounterRepository {
+
+        boolean fail = true;
+
+        FailingCounterRepository() {
+            super(jdbcTemplate, em, entityManagerFactory);
+        }
+
+        @Override
+        public void addViewCounts(Map<Long, Long> deltas) {
+            if (fail) {
+                throw new DataAccessResourceFailureException("DB 에 연결할 수 없습니다.");
+            }
+            super.addViewCounts(deltas);
+        }
+    }
+
+    private long viewCount(Long postId) {
+        return postRepository.findById(postId).get().getViewCount();
+    }
+
+    //반영에 실패한 증가분은 버리지 않고 다음 flush 에서 다시 반영
+    @Test
+    public void 반영에_실패하면_다음_flush_에서_다시_반영() throws Exception {
+        Post post = postRepository.save(Post.builder().title("제목").content("내용").filePath("filePath").build());
+        FailingCounterRepository repository = new FailingCounterRepository();
+        PostViewCountBuffer buffer = new PostViewCountBuffer(repository, transactionManager);
+
+        for (int i = 0; i < 3; i++) {
+            buffer.increment(post.getId());
+        }
+        buffer.flush();
+        buffer.flush();
+        assertThat(viewCount(post.getId())).isZero();
+
+        buffer.increment(post.getId());
+        repository.fail = false;
+        buffer.flushAll();
+
+        assertThat(viewCount(post.getId())).isEqualTo(4);
+    }
+}
@@ -0,0 +1,116 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.post.search.SearchResult;
+import board.example.myboard.domain.post.search.SegmentedSearchIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SegmentedSearchIndexTest {
+
+    @TempDir
+    Path directory;
+
+    //flush 한 세그먼트는 다시 열어도 DB 없이 검색된다
+    @Test
+    public void 저장한_색인_다시_열기() throws Exception {
+        LocalDateTime checkpoint = LocalDateTime.now();
+        try (SegmentedSearchIndex index = SegmentedSearchIndex.open(directory, 10)) {
+            index.add(1L, "스프링 게시판", "JPA 로 만든 게시판");
+            index.add(2L, "자유 게시판", "잡담");
+            index.flush(checkpoint);
+        }
+
+        try (SegmentedSearchIndex reopened = SegmentedSearchIndex.open(directory, 10)) {
+            SearchResult result = reopened.search("스프링 게시판", 0, 10);
+
+            assertThat(reopened.checkpoint()).isEqualTo(checkpoint);
+            assertThat(reopened.size()).isEqualTo(2);
+            assertThat(result.hits()).extracting(SearchResult.Hit::postId).containsExactly(1L);
+            assertThat(result.hits().get(0).title()).isEqualTo("스프링 게시판");
+        }
+    }
+
+    //이전 세그먼트의 문서는 수정/삭제 시 삭제 표시되고, 삭제 표시도 저장된다
+    @Test
+    public void 세그먼트_문서_수정_삭제() throws Exception {
+        try (SegmentedSearchIndex index = SegmentedSearchIndex.open(directory, 10)) {
+            index.add(1L, "java", "spring");
+            index.add(2L, "java", "boot");
+            index.flush(LocalDateTime.now());
+
+            index.add(1L, "kotlin", "spring");
+            index.remove(2L);
+            index.flush(LocalDateTime.now());
+        }
+
+        try (SegmentedSearchIndex reopened = SegmentedSearchIndex.open(directory, 10)) {
+            assertThat(reopened.search("java", 0, 10).total()).isZero();
+            assertThat(reopened.search("spring", 0, 10).hits()).extracting(SearchResult.Hit::postId).containsExactly(1L);
+            assertThat(reopened.size()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void 세그먼트_병합() throws Exception {
+        try (SegmentedSearchIndex index = SegmentedSearchIndex.open(directory, 3)) {
+            for (long id = 1; id <= 30; id++) {
+                index.add(id, "공지 " + id, "내용");
+                if (id % 10 == 0) {
+                    index.flush(LocalDateTime.now());
+                }
+            }
+            index.remove(5L);
+            assertThat(index.segmentCount()).isEqualTo(3);
+
+            index.merge();
+
+            assertThat(index.segmentCount()).isEqualTo(1);
+            assertThat(index.search("공지", 0, 100).total()).isEqualTo(29);
+        }
+    }
+
+    //같은 디렉토리를 두 번 열면 바로 실패하고, 닫으면 다시 열 수 있다
+    @Test
+    public void 열려_있는_디렉토리는_잠금() throws Exception {
+        try (SegmentedSearchIndex index = SegmentedSearchIndex.open(directory, 10)) {
+            index.add(1L, "java", "spring");
+            index.flush(LocalDateTime.now());
+
+            assertThatThrownBy(() -> SegmentedSearchIndex.open(directory, 10))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageStartingWith("검색 색인을 이미 다른 곳에서 열었습니다.");
+            assertThat(Files.exists(directory.resolve("seg_1.seg"))).isTrue();
+        }
+
+        try (SegmentedSearchIndex reopened = SegmentedSearchIndex.open(directory, 10)) {
+            assertThat(reopened.size()).isEqualTo(1);
+        }
+    }
+
+    //바뀐 것이 없으면 manifest 와 checkpoint 를 다시 쓰지 않는다
+    @Test
+    public void 바뀐_것이_없으면_flush_생략() throws Exception {
+        LocalDateTime checkpoint = LocalDateTime.now();
+        try (SegmentedSearchIndex index = SegmentedSearchIndex.open(directory, 10)) {
+            index.add(1L, "java", "spring");
+            assertThat(index.flush(checkpoint)).isTrue();
+            FileTime written = Files.getLastModifiedTime(directory.resolve("segments.properties"));
+
+            assertThat(index.flush(checkpoint.plusMinutes(1))).isFalse();
+            assertThat(index.checkpoint()).isEqualTo(checkpoint);
+            assertThat(Files.getLastModifiedTime(directory.resolve("segments.properties"))).isEqualTo(written);
+
+            index.remove(1L);
+            assertThat(index.flush(checkpoint.plusMinutes(2))).isTrue();
+            assertThat(index.checkpoint()).isEqualTo(checkpoint.plusMinutes(2));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package board.example.myboard.post;
+
+import board.example.myboard.domain.post.attachment.AttachmentStore;
+import board.example.myboard.domain.post.attachment.StoredAttachment;
+import board.example.myboard.domain.post.attachment.ThumbnailGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class ThumbnailGeneratorTest {
+
+    private static final long MAX_PIXELS = 50_000_000;
+
+    @TempDir
+    Path directory;
+
+    private StoredAttachment storeImage(AttachmentStore store, int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return store.store(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Test
+    public void 이미지는_크기별_썸네일_생성() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{640, 200}, 1, 10, MAX_PIXELS);
+        StoredAttachment image = storeImage(store, 4000, 3000);
+
+        assertThat(generator.generate(image)).isTrue();
+
+        assertThat(generator.listWidth()).isEqualTo(200);
+        assertThat(generator.isGenerated(image.hash())).isTrue();
+        BufferedImage small = ImageIO.read(generator.find(image.hash(), 200).get().toFile());
+        BufferedImage large = ImageIO.read(generator.find(image.hash(), 640).get().toFile());
+        assertThat(small.getWidth()).isEqualTo(200);
+        assertThat(small.getHeight()).isEqualTo(150);
+        assertThat(large.getWidth()).isEqualTo(640);
+        assertThat(generator.find(image.hash(), 300)).isEmpty();
+
+        generator.destroy();
+    }
+
+    @Test
+    public void 작은_이미지는_늘리지_않음() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, MAX_PIXELS);
+        StoredAttachment image = storeImage(store, 120, 60);
+
+        generator.generate(image);
+
+        assertThat(ImageIO.read(generator.find(image.hash(), 200).get().toFile()).getWidth()).isEqualTo(120);
+
+        generator.destroy();
+    }
+
+    @Test
+    public void 이미지가_아니면_만들지_않음() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, MAX_PIXELS);
+        StoredAttachment text = store.store(new ByteArrayInputStream("첨부파일".getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(generator.generate(text)).isFalse();
+        assertThat(generator.isGenerated(text.hash())).isFalse();
+
+        generator.destroy();
+    }
+
+    //세로로 긴 이미지도 width x width 안으로 줄인다
+    @Test
+    public void 세로로_긴_이미지도_크기_제한() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, MAX_PIXELS);
+        StoredAttachment image = storeImage(store, 100, 20000);
+
+        assertThat(generator.generate(image)).isTrue();
+
+        BufferedImage thumbnail = ImageIO.read(generator.find(image.hash(), 200).get().toFile());
+        assertThat(thumbnail.getHeight()).isEqualTo(200);
+        assertThat(thumbnail.getWidth()).isEqualTo(1);
+
+        generator.destroy();
+    }
+
+    @Test
+    public void 픽셀이_너무_많으면_만들지_않음() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, 100 * 100 - 1);
+        StoredAttachment image = storeImage(store, 100, 100);
+
+        assertThat(generator.generate(image)).isFalse();
+        assertThat(generator.find(image.hash(), 200)).isEmpty();
+
+        generator.destroy();
+    }
+
+    //큐가 가득 차서 밀린 작업도 retryRejected 로 결국 만들어진다
+    @Test
+    public void 큐가_가득_차도_나중에_생성() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 1, MAX_PIXELS);
+        List<StoredAttachment> images = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            images.add(storeImage(store, 2000 + i, 1500));
+        }
+
+        images.forEach(generator::generateAsync);
+
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!images.stream().allMatch(image -> generator.isGenerated(image.hash()))
+                && System.currentTimeMillis() < deadline) {
+            generator.retryRejected();
+            Thread.sleep(20);
+        }
+        assertThat(images).allSatisfy(image -> assertThat(generator.isGenerated(image.hash())).isTrue());
+        assertThat(generator.retryCount()).isZero();
+
+        generator.destroy();
+    }
+
+    //다시 시작해도 만들어 둔 썸네일을 알고 있다
+    @Test
+    public void 시작할_때_만들어_둔_썸네일_읽음() throws Exception {
+        AttachmentStore store = new AttachmentStore(directory.resolve("attachments").toString());
+        ThumbnailGenerator generator = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, MAX_PIXELS);
+        StoredAttachment image = storeImage(store, 400, 300);
+        generator.generate(image);
+        generator.destroy();
+
+        ThumbnailGenerator restarted = new ThumbnailGenerator(directory.resolve("thumbnails").toString(),
+                new int[]{200}, 1, 10, MAX_PIXELS);
+
+        assertThat(restarted.isGenerated(image.hash())).isTrue();
+
+        restarted.destroy();
+    }
+}
@@ -0,0 +1,35 @@
+package board.example.myboard.support;
+
+import board.example.myboard.domain.post.search.PostSearchIndexer;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+/*
+ * 테스트 트랜잭션 없이 (커밋이 필요해서) 실행한 테스트의 뒷정리
+ * - FK 순서대로 지운다: 대댓글 -> 댓글 -> 게시글 -> 본문 -> 회원
+ * - 2차 캐시를 비우고, 지운 게시글이 남지 않게 검색 색인을 다시 만든다
+ * */
+public final class TestDatabase {
+
+    private static final List<String> CLEAN_UP_SQL = List.of(
+            "update comment set parent_id = null",
+            "delete from comment",
+            "delete from post",
+            "delete from post_body",
+            "delete from post_search_tombstone",
+            "delete from refresh_token",
+            "delete from member");
+
+    private TestDatabase() {
+    }
+
+    public static void cleanUp(ApplicationContext context) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        CLEAN_UP_SQL.forEach(jdbcTemplate::update);
+        context.getBean(EntityManagerFactory.class).getCache().evictAll();
+        context.getBean(PostSearchIndexer.class).rebuild();
+    }
+}
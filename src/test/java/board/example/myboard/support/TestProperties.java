@@ -0,0 +1,14 @@
+package board.example.myboard.support;
+
+/*
+ * @SpringBootTest 에 공통으로 넣는 설정
+ * - 검색 색인 디렉토리는 한 곳에서만 열 수 있으므로 (write.lock) 테스트 컨텍스트마다 따로 둔다
+ *   캐시된 컨텍스트가 여러 개 떠 있어도 서로의 세그먼트를 지우지 않는다
+ * */
+public final class TestProperties {
+
+    public static final String SEARCH_INDEX_DIR = "post.search.index-dir=build/test-search-index/${random.uuid}";
+
+    private TestProperties() {
+    }
+}